@@ -3,62 +3,207 @@ package com.algorithms.graph;
 import com.algorithms.graph.structures.*;
 
 public abstract class AbstractGraph<V> implements Graph<V> {
-    protected final HashMap<V, Array<Edge<V>>> adjacencyList;
+    // Каждой вершине при добавлении выдаётся целочисленный id,
+    // списки смежности и все алгоритмы работают с id, а не с V
+    protected final ObjIntMap<V> vertexIds;
+    protected final Array<V> vertexById;
+    protected final Array<EdgeList> adjacencyList;
+    private final IntStack freeIds;
     protected final boolean directed;
     protected int edgeCount;
+    protected int modCount;
+    private CompactGraph<V> snapshot;
+    private int snapshotModCount;
+    private final Array<GraphListener<V>> listeners = new Array<>();
 
     public AbstractGraph(boolean directed) {
-        this.adjacencyList = new HashMap<>();
+        this.vertexIds = new ObjIntMap<>();
+        this.vertexById = new Array<>();
+        this.adjacencyList = new Array<>();
+        this.freeIds = new IntStack();
         this.directed = directed;
         this.edgeCount = 0;
     }
 
-    protected static class Edge<V> {
-        V target;
-        int weight;
+    @Override
+    public void addVertex(V v) {
+        internVertex(v);
+    }
 
-        Edge(V target, int weight) {
-            this.target = target;
-            this.weight = weight;
+    // Возвращает id вершины, добавляя её при необходимости
+    protected int internVertex(V v) {
+        if (v == null) {
+            throw new IllegalArgumentException("Vertex cannot be null");
         }
+        int id = vertexIds.getOrDefault(v, -1);
+        if (id < 0) {
+            // id удалённых вершин переиспользуются, поэтому диапазон id остаётся плотным
+            if (freeIds.isEmpty()) {
+                id = vertexById.size();
+                vertexIds.put(v, id);
+                vertexById.add(v);
+                adjacencyList.add(new EdgeList());
+            } else {
+                id = freeIds.pop();
+                vertexIds.put(v, id);
+                vertexById.set(id, v);
+                adjacencyList.set(id, new EdgeList());
+            }
+            vertexAdded(id);
+            modCount++;
+            for (int i = listeners.size() - 1; i >= 0; i--) {
+                listeners.get(i).vertexAdded(v);
+            }
+        }
+        return id;
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            Edge<?> edge = (Edge<?>) obj;
-            return target.equals(edge.target);
+    // Вставляет ребро между существующими вершинами и сообщает слушателям о новом ребре или смене веса
+    protected void putEdge(int fromId, int toId, int weight) {
+        if (listeners.isEmpty()) {
+            insertEdge(fromId, toId, weight);
+            modCount++;
+            return;
+        }
+
+        EdgeList edges = adjacencyList.get(fromId);
+        int slot = edges.indexOf(toId);
+        int oldWeight = slot < 0 ? 0 : edges.weights[slot];
+        insertEdge(fromId, toId, weight);
+        modCount++;
+
+        V from = vertexById.get(fromId);
+        V to = vertexById.get(toId);
+        // С конца, чтобы слушатель мог отписаться прямо из обработчика
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            if (slot < 0) {
+                listeners.get(i).edgeAdded(from, to, weight);
+            } else if (oldWeight != weight) {
+                listeners.get(i).edgeWeightChanged(from, to, oldWeight, weight);
+            }
         }
+    }
+
+    // Добавляет ребро между существующими вершинами; true, если ребро новое
+    protected abstract boolean insertEdge(int fromId, int toId, int weight);
+
+    // Добавляет ребро, которого заведомо нет в графе, без поиска дубликата
+    protected abstract void appendEdge(int fromId, int toId, int weight);
+
+    // Меняет вес существующего ребра, стоящего в списке fromId на позиции slot
+    protected abstract void replaceWeight(int fromId, int slot, int weight);
+
+    // Пакетная загрузка рёбер; результат тот же, что у последовательных addEdge
+    public void addEdges(GraphBuilder<V> batch) {
+        batch.loadInto(this);
+    }
+
+    protected void ensureVertexCapacity(int expectedVertices) {
+        vertexIds.ensureCapacity(expectedVertices);
+        vertexById.ensureCapacity(expectedVertices);
+        adjacencyList.ensureCapacity(expectedVertices);
+    }
 
-        @Override
-        public int hashCode() {
-            return target.hashCode();
+    protected int idOf(V v) {
+        return vertexIds.getOrDefault(v, -1);
+    }
+
+    // Верхняя граница id; слоты удалённых вершин содержат null
+    protected int idBound() {
+        return vertexById.size();
+    }
+
+    // Точки расширения для подклассов с дополнительными индексами по id
+    protected void vertexAdded(int id) {
+    }
+
+    protected void vertexReleased(int id) {
+    }
+
+    protected void releaseId(int id) {
+        // Из чужих списков рёбра вершины уже убраны подклассом; собственный список очищается
+        // до уведомления, чтобы слушатели не увидели висячих рёбер
+        adjacencyList.get(id).clear();
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).vertexRemoved(vertexById.get(id));
+        }
+        vertexReleased(id);
+        vertexIds.remove(vertexById.get(id));
+        vertexById.set(id, null);
+        adjacencyList.set(id, null);
+        freeIds.push(id);
+        modCount++;
+    }
+
+    public void addListener(GraphListener<V> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
         }
+        listeners.add(listener);
     }
 
-    @Override
-    public void addVertex(V v) {
-        if (v == null) {
-            throw new IllegalArgumentException("Vertex cannot be null");
+    public void removeListener(GraphListener<V> listener) {
+        listeners.remove(listener);
+    }
+
+    protected boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    protected void fireEdgeRemoved(int fromId, int toId, int weight) {
+        V from = vertexById.get(fromId);
+        V to = vertexById.get(toId);
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).edgeRemoved(from, to, weight);
         }
-        if (!adjacencyList.containsKey(v)) {
-            adjacencyList.put(v, new Array<>());
+    }
+
+    void fireBulkChange() {
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).bulkChange();
+        }
+    }
+
+    // Входящие рёбра вершины; в неориентированном графе совпадают с исходящими
+    protected EdgeList incomingEdges(int id) {
+        return adjacencyList.get(id);
+    }
+
+    // Снимок пересобирается только после изменения графа
+    public CompactGraph<V> snapshot() {
+        if (snapshot == null || snapshotModCount != modCount) {
+            snapshot = new CompactGraph<>(this);
+            snapshotModCount = modCount;
         }
+        return snapshot;
     }
 
     @Override
     public Array<V> getAdjacent(V v) {
-        if (!adjacencyList.containsKey(v)) {
+        int id = idOf(v);
+        if (id < 0) {
             throw new RuntimeException("Vertex " + v + " not found");
         }
-        Array<Edge<V>> edges = adjacencyList.get(v);
-        Array<V> adjacentVertices = new Array<>();
-        for (int i = 0; i < edges.size(); i++) {
-            adjacentVertices.add(edges.get(i).target);
+        EdgeList edges = adjacencyList.get(id);
+        Array<V> adjacentVertices = new Array<>(Math.max(1, edges.size));
+        for (int i = 0; i < edges.size; i++) {
+            adjacentVertices.add(vertexById.get(edges.targets[i]));
         }
         return adjacentVertices;
     }
 
+    @Override
+    public void forEachNeighbor(V v, NeighborConsumer<V> action) {
+        int id = idOf(v);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        EdgeList edges = adjacencyList.get(id);
+        for (int i = 0; i < edges.size; i++) {
+            action.accept(vertexById.get(edges.targets[i]), edges.weights[i]);
+        }
+    }
+
     @Override
     public void dfs(V start) {
         String result = dfsString(start);
@@ -67,36 +212,7 @@ public abstract class AbstractGraph<V> implements Graph<V> {
 
     @Override
     public String dfsString(V start) {
-        if (!adjacencyList.containsKey(start)) {
-            throw new RuntimeException("Start vertex " + start + " not found");
-        }
-
-        HashMap<V, Boolean> visited = new HashMap<>();
-        Array<V> vertices = adjacencyList.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            visited.put(vertices.get(i), false);
-        }
-
-        StringBuilder result = new StringBuilder();
-        Stack<V> stack = new Stack<>();
-        stack.push(start);
-
-        while (!stack.isEmpty()) {
-            V current = stack.pop();
-            if (!visited.get(current)) {
-                visited.put(current, true);
-                result.append(current).append(" ");
-
-                Array<Edge<V>> edges = adjacencyList.get(current);
-                for (int i = edges.size() - 1; i >= 0; i--) {
-                    V neighbor = edges.get(i).target;
-                    if (!visited.get(neighbor)) {
-                        stack.push(neighbor);
-                    }
-                }
-            }
-        }
-        return result.toString().trim();
+        return snapshot().dfsString(start);
     }
 
     @Override
@@ -107,45 +223,28 @@ public abstract class AbstractGraph<V> implements Graph<V> {
 
     @Override
     public String bfsString(V start) {
-        if (!adjacencyList.containsKey(start)) {
-            throw new RuntimeException("Start vertex " + start + " not found");
-        }
+        return snapshot().bfsString(start);
+    }
 
-        HashMap<V, Boolean> visited = new HashMap<>();
-        Array<V> vertices = adjacencyList.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            visited.put(vertices.get(i), false);
-        }
+    // Обход идёт по снимку: изменения графа после вызова в него не попадают
+    @Override
+    public Traversal<V> bfsTraversal(V start) {
+        return snapshot().bfsTraversal(start);
+    }
 
-        StringBuilder result = new StringBuilder();
-        Queue<V> queue = new Queue<>();
-        visited.put(start, true);
-        queue.enqueue(start);
-
-        while (!queue.isEmpty()) {
-            V current = queue.dequeue();
-            result.append(current).append(" ");
-
-            Array<Edge<V>> edges = adjacencyList.get(current);
-            for (int i = 0; i < edges.size(); i++) {
-                V neighbor = edges.get(i).target;
-                if (!visited.get(neighbor)) {
-                    visited.put(neighbor, true);
-                    queue.enqueue(neighbor);
-                }
-            }
-        }
-        return result.toString().trim();
+    @Override
+    public Traversal<V> dfsTraversal(V start) {
+        return snapshot().dfsTraversal(start);
     }
 
     @Override
     public boolean containsVertex(V v) {
-        return adjacencyList.containsKey(v);
+        return vertexIds.containsKey(v);
     }
 
     @Override
     public int getVertexCount() {
-        return adjacencyList.size();
+        return vertexIds.size();
     }
 
     @Override
@@ -155,292 +254,115 @@ public abstract class AbstractGraph<V> implements Graph<V> {
 
     @Override
     public Array<V> getVertices() {
-        return adjacencyList.keys();
-    }
-
-    @Override
-    public Integer getEdgeWeight(V from, V to) {
-        if (!adjacencyList.containsKey(from)) {
-            return null;
-        }
-
-        Array<Edge<V>> edges = adjacencyList.get(from);
-        for (int i = 0; i < edges.size(); i++) {
-            Edge<V> edge = edges.get(i);
-            if (edge.target.equals(to)) {
-                return edge.weight;
-            }
-        }
-        return null;
-    }
-
-    protected void removeEdgeFromVertex(V from, V to) {
-        Array<Edge<V>> edges = adjacencyList.get(from);
-        if (edges != null) {
-            for (int i = 0; i < edges.size(); i++) {
-                if (edges.get(i).target.equals(to)) {
-                    edges.remove(i);
-                    break;
-                }
+        Array<V> vertices = new Array<>();
+        for (int id = 0; id < vertexById.size(); id++) {
+            if (vertexById.get(id) != null) {
+                vertices.add(vertexById.get(id));
             }
         }
+        return vertices;
     }
 
+    // Представление только для чтения, без копирования; граф нельзя менять во время обхода
     @Override
-    public String bellmanFord(V start) {
-        if (!adjacencyList.containsKey(start)) {
-            return "Стартовая вершина " + start + " не найдена";
-        }
+    public Iterable<V> vertices() {
+        return () -> new java.util.Iterator<V>() {
+            private int next = skipRemoved(0);
 
-        Array<EdgeTriple<V>> edges = getAllEdges();
-
-        HashMap<V, Integer> distances = new HashMap<>();
-        HashMap<V, V> previous = new HashMap<>();
-        Array<V> vertices = adjacencyList.keys();
-
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            distances.put(vertex, Integer.MAX_VALUE);
-            previous.put(vertex, null);
-        }
-        distances.put(start, 0);
-
-        // Основной цикл релаксации (|V| - 1 раз)
-        for (int i = 0; i < vertices.size() - 1; i++) {
-            boolean changed = false;
-
-            // Релаксация всех рёбер
-            for (int j = 0; j < edges.size(); j++) {
-                EdgeTriple<V> edge = edges.get(j);
-                V u = edge.from;
-                V v = edge.to;
-                int weight = edge.weight;
-
-                if (distances.get(u) != Integer.MAX_VALUE &&
-                        distances.get(u) + weight < distances.get(v)) {
-                    distances.put(v, distances.get(u) + weight);
-                    previous.put(v, u);
-                    changed = true;
-                }
+            @Override
+            public boolean hasNext() {
+                return next < vertexById.size();
             }
 
-            if (!changed) {
-                break;
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                V vertex = vertexById.get(next);
+                next = skipRemoved(next + 1);
+                return vertex;
             }
-        }
-
-        // Проверка на отрицательные циклы
-        String negativeCycleCheck = checkNegativeCycles(edges, distances);
-        if (negativeCycleCheck != null) {
-            return negativeCycleCheck;
-        }
-
-        return buildBellmanFordResult(start, distances, previous);
+        };
     }
 
-    // Вспомогательный класс для хранения информации о рёбрах
-    private static class EdgeTriple<V> {
-        V from;
-        V to;
-        int weight;
-
-        EdgeTriple(V from, V to, int weight) {
-            this.from = from;
-            this.to = to;
-            this.weight = weight;
+    private int skipRemoved(int id) {
+        while (id < vertexById.size() && vertexById.get(id) == null) {
+            id++;
         }
+        return id;
     }
 
-    private Array<EdgeTriple<V>> getAllEdges() {
-        Array<EdgeTriple<V>> edges = new Array<>();
-        Array<V> vertices = adjacencyList.keys();
-
-        for (int i = 0; i < vertices.size(); i++) {
-            V from = vertices.get(i);
-            Array<Edge<V>> outgoingEdges = adjacencyList.get(from);
-
-            for (int j = 0; j < outgoingEdges.size(); j++) {
-                Edge<V> edge = outgoingEdges.get(j);
-                edges.add(new EdgeTriple<>(from, edge.target, edge.weight));
-            }
+    @Override
+    public Integer getEdgeWeight(V from, V to) {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) {
+            return null;
         }
 
-        return edges;
+        EdgeList edges = adjacencyList.get(fromId);
+        int slot = edges.indexOf(toId);
+        return slot < 0 ? null : edges.weights[slot];
     }
 
-    // Проверка на отрицательные циклы
-    private String checkNegativeCycles(Array<EdgeTriple<V>> edges, HashMap<V, Integer> distances) {
-        for (int i = 0; i < edges.size(); i++) {
-            EdgeTriple<V> edge = edges.get(i);
-            V u = edge.from;
-            V v = edge.to;
-            int weight = edge.weight;
-
-            if (distances.get(u) != Integer.MAX_VALUE &&
-                    distances.get(u) + weight < distances.get(v)) {
-                return "Обнаружен отрицательный цикл! Алгоритм не может найти корректные кратчайшие пути.";
-            }
+    // Удаляет ребро from -> to, возвращает true, если ребро было
+    protected boolean removeEdgeFromVertex(int from, int to) {
+        EdgeList edges = adjacencyList.get(from);
+        if (edges != null && edges.remove(to)) {
+            modCount++;
+            return true;
         }
-        return null;
+        return false;
     }
 
-    private String buildBellmanFordResult(V start, HashMap<V, Integer> distances, HashMap<V, V> previous) {
-        StringBuilder result = new StringBuilder();
-        result.append("=== АЛГОРИТМ БЕЛЛМАНА-ФОРДА ===\n");
-        result.append("Стартовая вершина: ").append(start).append("\n\n");
-        result.append("Кратчайшие расстояния:\n");
-
-        Array<V> vertices = distances.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            int distance = distances.get(vertex);
-
-            if (distance == Integer.MAX_VALUE) {
-                result.append(vertex).append(": недостижима\n");
-            } else {
-                result.append(vertex).append(": ").append(distance);
-
-                // Восстанавливаем путь
-                Array<V> path = reconstructPath(previous, start, vertex);
-                if (path.size() > 1) {
-                    result.append(" (путь: ").append(path.toString()).append(")");
-                }
-                result.append("\n");
-            }
-        }
-
-        result.append("\nОсобенности алгоритма:\n");
-        result.append("- Работает с отрицательными весами рёбер\n");
-        result.append("- Обнаруживает отрицательные циклы\n");
-        result.append("- Временная сложность: O(V*E)\n");
-
-        return result.toString();
+    @Override
+    public String bellmanFord(V start) {
+        return snapshot().bellmanFord(start);
     }
 
-
     @Override
     public String dijkstra(V start) {
-        if (!adjacencyList.containsKey(start)) {
-            return "Стартовая вершина " + start + " не найдена";
-        }
-
-        // Проверяем наличие отрицательных весов
-        if (hasNegativeWeights()) {
-            return "Ошибка: алгоритм Дейкстры не работает с отрицательными весами";
-        }
-
-        HashMap<V, Integer> distances = new HashMap<>();
-        HashMap<V, V> previous = new HashMap<>();
-        HashMap<V, Boolean> visited = new HashMap<>();
-        Array<V> vertices = adjacencyList.keys();
-
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            distances.put(vertex, Integer.MAX_VALUE);
-            visited.put(vertex, false);
-            previous.put(vertex, null);
-        }
-        distances.put(start, 0);
-
-        for (int i = 0; i < vertices.size(); i++) {
-            V current = findMinDistanceVertex(distances, visited);
-            if (current == null) {
-                break;
-            }
-
-            visited.put(current, true);
-
-            // Обновляем расстояния до всех соседей
-            Array<V> neighbors = getAdjacent(current);
-            for (int j = 0; j < neighbors.size(); j++) {
-                V neighbor = neighbors.get(j);
-                if (!visited.get(neighbor)) {
-                    Integer weight = getEdgeWeight(current, neighbor);
-                    if (weight != null) {
-                        int newDistance = distances.get(current) + weight;
-                        if (newDistance < distances.get(neighbor)) {
-                            distances.put(neighbor, newDistance);
-                            previous.put(neighbor, current);
-                        }
-                    }
-                }
-            }
-        }
-
-        return buildDijkstraResult(start, distances, previous);
+        return snapshot().dijkstra(start);
     }
 
-    private boolean hasNegativeWeights() {
-        Array<V> vertices = adjacencyList.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            Array<Edge<V>> edges = adjacencyList.get(vertex);
-            for (int j = 0; j < edges.size(); j++) {
-                if (edges.get(j).weight < 0) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    @Override
+    public ShortestPathResult<V> bellmanFordResult(V start) {
+        return snapshot().bellmanFordResult(start);
     }
 
-    private V findMinDistanceVertex(HashMap<V, Integer> distances, HashMap<V, Boolean> visited) {
-        int minDistance = Integer.MAX_VALUE;
-        V minVertex = null;
-
-        Array<V> vertices = distances.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            if (!visited.get(vertex) && distances.get(vertex) <= minDistance) {
-                minDistance = distances.get(vertex);
-                minVertex = vertex;
-            }
-        }
-
-        return minVertex;
+    @Override
+    public Path<V> shortestPath(V from, V to) {
+        return snapshot().shortestPath(from, to);
     }
 
-    private String buildDijkstraResult(V start, HashMap<V, Integer> distances, HashMap<V, V> previous) {
-        StringBuilder result = new StringBuilder();
-        result.append("=== АЛГОРИТМ ДЕЙКСТРЫ ===\n");
-        result.append("Стартовая вершина: ").append(start).append("\n\n");
-        result.append("Кратчайшие расстояния:\n");
-
-        Array<V> vertices = distances.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            int distance = distances.get(vertex);
-
-            if (distance == Integer.MAX_VALUE) {
-                result.append(vertex).append(": недостижима\n");
-            } else {
-                result.append(vertex).append(": ").append(distance);
+    @Override
+    public Path<V> shortestPath(V from, V to, Heuristic<V> heuristic) {
+        return snapshot().shortestPath(from, to, heuristic);
+    }
 
-                // Восстанавливаем путь
-                Array<V> path = reconstructPath(previous, start, vertex);
-                if (path.size() > 1) {
-                    result.append(" (путь: ").append(path.toString()).append(")");
-                }
-                result.append("\n");
-            }
-        }
+    @Override
+    public Array<Path<V>> kShortestPaths(V from, V to, int k) {
+        return snapshot().kShortestPaths(from, to, k);
+    }
 
-        return result.toString();
+    @Override
+    public ShortestPathResult<V> dijkstraResult(V start) {
+        return snapshot().dijkstraResult(start);
     }
 
-    private Array<V> reconstructPath(HashMap<V, V> previous, V start, V target) {
-        Array<V> path = new Array<>();
-        V current = target;
+    // Расстояния между всеми парами вершин; допускает отрицательные веса без отрицательных циклов
+    public DistanceMatrix<V> distanceMatrix() {
+        return new AllPairsShortestPaths<>(snapshot()).allPairs();
+    }
 
-        while (current != null) {
-            path.add(0, current);
-            current = previous.get(current);
-        }
+    // Веса рёбер - пропускные способности; для серии пар выгоднее держать один MaxFlow
+    public MinCut<V> maxFlow(V source, V sink) {
+        return new MaxFlow<>(snapshot()).dinic(source, sink);
+    }
 
-        if (path.size() > 0 && path.get(0).equals(start)) {
-            return path;
-        } else {
-            return new Array<>();
-        }
+    // Индекс для серии запросов shortestPath на текущем состоянии графа; изменения графа в него не попадают
+    public ContractionHierarchy<V> contractionHierarchy() {
+        return new ContractionHierarchy<>(this);
     }
-}
\ No newline at end of file
+}
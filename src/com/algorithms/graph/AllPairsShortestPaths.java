@@ -0,0 +1,173 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+// Расстояния между многими парами вершин: Дейкстра из каждого источника, источники
+// распределяются по потокам pool, у каждой задачи свои переиспользуемые рабочие массивы.
+// При отрицательных весах рёбра один раз перевзвешиваются по Джонсону (потенциалы - SPFA
+// от фиктивной вершины), после чего Дейкстра корректен для всех источников
+public class AllPairsShortestPaths<V> {
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    // Потенциалы Джонсона и неотрицательные веса w(u, v) + h(u) - h(v); null без отрицательных весов
+    private final int[] potentials;
+    private final long[] reweighted;
+    private final ConcurrentLinkedQueue<Scratch> idleScratch = new ConcurrentLinkedQueue<>();
+
+    public AllPairsShortestPaths(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public AllPairsShortestPaths(CompactGraph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        if (!graph.hasNegativeWeights()) {
+            this.potentials = null;
+            this.reweighted = null;
+            return;
+        }
+
+        this.potentials = new Spfa<>(graph, pool).potentials();
+        if (potentials == null) {
+            throw new IllegalStateException("Graph contains a negative cycle");
+        }
+        this.reweighted = new long[graph.targets.length];
+        for (int u = 0; u < graph.labels.length; u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                reweighted[i] = (long) graph.weights[i] + potentials[u] - potentials[graph.targets[i]];
+            }
+        }
+    }
+
+    public DistanceMatrix<V> allPairs() {
+        Array<V> vertices = graph.getVertices();
+        return manyToMany(vertices, vertices);
+    }
+
+    public DistanceMatrix<V> manyToMany(Array<V> sources, Array<V> targets) {
+        int[] sourceIds = idsOf(sources);
+        int[] targetIds = idsOf(targets);
+        if ((long) sourceIds.length * targetIds.length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance matrix " + sourceIds.length + " x "
+                    + targetIds.length + " is too large; use forEachRow");
+        }
+
+        int[] distances = new int[sourceIds.length * targetIds.length];
+        compute(sourceIds, targetIds, (index, row) ->
+                System.arraycopy(row, 0, distances, index * targetIds.length, row.length));
+        return new DistanceMatrix<>(sources.toArray(), targets.toArray(), distances);
+    }
+
+    // Строки выдаются по мере готовности, без хранения всей матрицы.
+    // action вызывается из потоков pool одновременно и в произвольном порядке источников
+    public void forEachRow(Array<V> sources, Array<V> targets, DistanceRowConsumer<V> action) {
+        int[] sourceIds = idsOf(sources);
+        compute(sourceIds, idsOf(targets), (index, row) -> action.accept(graph.label(sourceIds[index]), row));
+    }
+
+    private interface RowSink {
+        void accept(int index, int[] row);
+    }
+
+    private void compute(int[] sourceIds, int[] targetIds, RowSink sink) {
+        boolean[] isTarget = new boolean[graph.labels.length];
+        int distinctTargets = 0;
+        for (int id : targetIds) {
+            if (!isTarget[id]) {
+                isTarget[id] = true;
+                distinctTargets++;
+            }
+        }
+        int targetCount = distinctTargets;
+
+        Parallel.forRange(pool, 0, sourceIds.length, 1, (first, last) -> {
+            Scratch scratch = idleScratch.poll();
+            if (scratch == null || scratch.row.length != targetIds.length) {
+                scratch = new Scratch(graph.labels.length, targetIds.length);
+            }
+            for (int k = first; k < last; k++) {
+                scratch.run(sourceIds[k], isTarget, targetCount);
+                for (int j = 0; j < targetIds.length; j++) {
+                    scratch.row[j] = scratch.distance(sourceIds[k], targetIds[j]);
+                }
+                sink.accept(k, scratch.row);
+            }
+            idleScratch.add(scratch);
+        });
+    }
+
+    private int[] idsOf(Array<V> vertices) {
+        int[] ids = new int[vertices.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = graph.idOf(vertices.get(i));
+            if (ids[i] < 0) {
+                throw new RuntimeException("Vertex " + vertices.get(i) + " not found");
+            }
+        }
+        return ids;
+    }
+
+    // Рабочие массивы одной задачи; сбрасываются через номер запуска
+    private final class Scratch {
+        final long[] distances;
+        final int[] seen;
+        final IndexedMinHeap heap;
+        final int[] row;
+        int stamp;
+
+        Scratch(int n, int columns) {
+            distances = new long[n];
+            seen = new int[n];
+            heap = new IndexedMinHeap(n);
+            row = new int[columns];
+        }
+
+        // Дейкстра из source; останавливается, когда извлечены все целевые вершины
+        void run(int source, boolean[] isTarget, int targetCount) {
+            if (++stamp == Integer.MAX_VALUE) {
+                stamp = 1;
+                java.util.Arrays.fill(seen, 0);
+            }
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            int[] weights = graph.weights;
+
+            heap.clear();
+            seen[source] = stamp;
+            distances[source] = 0;
+            heap.insert(source, 0);
+            int remaining = targetCount;
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                if (isTarget[u] && --remaining == 0) {
+                    break;
+                }
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    long newDistance = distances[u] + (reweighted == null ? weights[i] : reweighted[i]);
+                    if (seen[v] != stamp || newDistance < distances[v]) {
+                        seen[v] = stamp;
+                        distances[v] = newDistance;
+                        heap.insertOrDecrease(v, newDistance);
+                    }
+                }
+            }
+        }
+
+        // Расстояние в исходных весах: d(u, v) = d'(u, v) - h(u) + h(v)
+        int distance(int source, int target) {
+            if (seen[target] != stamp) {
+                return ShortestPathResult.UNREACHABLE;
+            }
+            long distance = distances[target];
+            if (potentials != null) {
+                distance = distance - potentials[source] + potentials[target];
+            }
+            return (int) distance;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Уровни и родители вершин в дереве обхода в ширину
+public class BfsResult<V> {
+    public static final int UNREACHED = -1;
+
+    private final CompactGraph<V> graph;
+    private final int source;
+    private final int[] levels;
+    private final int[] parents;
+    private final int reachedCount;
+    private final int depth;
+
+    BfsResult(CompactGraph<V> graph, int source, int[] levels, int[] parents, int reachedCount, int depth) {
+        this.graph = graph;
+        this.source = source;
+        this.levels = levels;
+        this.parents = parents;
+        this.reachedCount = reachedCount;
+        this.depth = depth;
+    }
+
+    public V getSource() {
+        return graph.label(source);
+    }
+
+    public boolean isReached(V v) {
+        return levelOf(v) != UNREACHED;
+    }
+
+    public int levelOf(V v) {
+        return levels[requireId(v)];
+    }
+
+    // null для стартовой и недостижимых вершин
+    public V parentOf(V v) {
+        int parent = parents[requireId(v)];
+        return parent < 0 ? null : graph.label(parent);
+    }
+
+    // Путь с наименьшим числом рёбер; пустой массив, если вершина недостижима
+    public Array<V> pathTo(V target) {
+        int id = requireId(target);
+        if (levels[id] == UNREACHED) {
+            return new Array<>();
+        }
+        Object[] path = new Object[levels[id] + 1];
+        for (int v = id, k = levels[id]; v >= 0; v = parents[v], k--) {
+            path[k] = graph.label(v);
+        }
+        Array<V> result = new Array<>(path.length);
+        for (Object vertex : path) {
+            @SuppressWarnings("unchecked")
+            V v = (V) vertex;
+            result.add(v);
+        }
+        return result;
+    }
+
+    public int getReachedCount() {
+        return reachedCount;
+    }
+
+    // Номер последнего непустого уровня
+    public int getDepth() {
+        return depth;
+    }
+
+    private int requireId(V v) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        return id;
+    }
+}
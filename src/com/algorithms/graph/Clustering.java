@@ -0,0 +1,74 @@
+package com.algorithms.graph;
+
+// Треугольники и коэффициенты кластеризации неориентированного снимка.
+// Степень вершины считается без петель
+public class Clustering<V> {
+    private final CompactGraph<V> graph;
+    private final long[] triangles;
+    private final int[] degrees;
+    private final long triangleCount;
+    private final long tripleCount;
+
+    Clustering(CompactGraph<V> graph, long[] triangles, int[] degrees) {
+        this.graph = graph;
+        this.triangles = triangles;
+        this.degrees = degrees;
+        long perVertex = 0;
+        long triples = 0;
+        for (int v = 0; v < triangles.length; v++) {
+            perVertex += triangles[v];
+            triples += (long) degrees[v] * (degrees[v] - 1) / 2;
+        }
+        // Каждый треугольник учтён у всех трёх вершин
+        this.triangleCount = perVertex / 3;
+        this.tripleCount = triples;
+    }
+
+    public long getTriangleCount() {
+        return triangleCount;
+    }
+
+    public long trianglesOf(V vertex) {
+        return triangles[requireId(vertex)];
+    }
+
+    // Доля пар соседей, соединённых ребром; 0 при степени меньше 2
+    public double localCoefficient(V vertex) {
+        return coefficient(requireId(vertex));
+    }
+
+    // Среднее локальных коэффициентов по всем вершинам
+    public double averageCoefficient() {
+        if (triangles.length == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int v = 0; v < triangles.length; v++) {
+            total += coefficient(v);
+        }
+        return total / triangles.length;
+    }
+
+    // Транзитивность: 3 * треугольники / связные тройки
+    public double transitivity() {
+        return tripleCount == 0 ? 0 : 3.0 * triangleCount / tripleCount;
+    }
+
+    // Сам массив (без копирования); порядок вершин совпадает с getVertices() снимка
+    public long[] getTriangleCounts() {
+        return triangles;
+    }
+
+    private double coefficient(int v) {
+        long pairs = (long) degrees[v] * (degrees[v] - 1) / 2;
+        return pairs == 0 ? 0 : (double) triangles[v] / pairs;
+    }
+
+    private int requireId(V vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + vertex + " not found");
+        }
+        return id;
+    }
+}
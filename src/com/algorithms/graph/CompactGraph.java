@@ -0,0 +1,409 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.*;
+
+// Неизменяемый снимок графа в формате CSR (compressed sparse row):
+// рёбра вершины i лежат в targets/weights на отрезке [offsets[i], offsets[i + 1])
+public class CompactGraph<V> implements Graph<V> {
+    final Object[] labels;
+    final ObjIntMap<V> ids;
+    final int[] offsets;
+    final int[] targets;
+    final int[] weights;
+    private final boolean directed;
+    private final int edgeCount;
+    private final boolean hasNegativeWeights;
+    private volatile CompactGraph<V> transposed;
+    private volatile TopologicalOrder<V> topologicalOrder;
+
+    CompactGraph(AbstractGraph<V> graph) {
+        int bound = graph.idBound();
+        int n = graph.getVertexCount();
+
+        this.labels = new Object[n];
+        this.ids = new ObjIntMap<>(n);
+        this.offsets = new int[n + 1];
+        this.directed = graph.isDirected();
+        this.edgeCount = graph.getEdgeCount();
+
+        // id графа могут содержать дыры после удалений - нумеруем вершины заново подряд
+        int[] remap = new int[bound];
+        int next = 0;
+        for (int id = 0; id < bound; id++) {
+            V vertex = graph.vertexById.get(id);
+            if (vertex == null) {
+                remap[id] = -1;
+                continue;
+            }
+            labels[next] = vertex;
+            ids.put(vertex, next);
+            offsets[next + 1] = offsets[next] + graph.adjacencyList.get(id).size;
+            remap[id] = next++;
+        }
+
+        this.targets = new int[offsets[n]];
+        this.weights = new int[offsets[n]];
+        boolean negative = false;
+        for (int id = 0; id < bound; id++) {
+            if (remap[id] < 0) {
+                continue;
+            }
+            EdgeList edges = graph.adjacencyList.get(id);
+            int base = offsets[remap[id]];
+            for (int j = 0; j < edges.size; j++) {
+                targets[base + j] = remap[edges.targets[j]];
+                weights[base + j] = edges.weights[j];
+                negative |= edges.weights[j] < 0;
+            }
+        }
+        this.hasNegativeWeights = negative;
+    }
+
+    // Транспонированный граф: для ориентированного в строке i лежат входящие рёбра вершины i
+    private CompactGraph(CompactGraph<V> source) {
+        int n = source.labels.length;
+        this.labels = source.labels;
+        this.ids = source.ids;
+        this.directed = true;
+        this.edgeCount = source.edgeCount;
+        this.hasNegativeWeights = source.hasNegativeWeights;
+        this.offsets = new int[n + 1];
+        this.targets = new int[source.targets.length];
+        this.weights = new int[source.weights.length];
+
+        for (int i = 0; i < source.targets.length; i++) {
+            offsets[source.targets[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] cursor = java.util.Arrays.copyOf(offsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int i = source.offsets[u]; i < source.offsets[u + 1]; i++) {
+                int slot = cursor[source.targets[i]]++;
+                targets[slot] = u;
+                weights[slot] = source.weights[i];
+            }
+        }
+        this.transposed = source;
+    }
+
+    // Строится один раз по требованию; неориентированный граф совпадает со своим транспонированным
+    public CompactGraph<V> transpose() {
+        if (!directed) {
+            return this;
+        }
+        CompactGraph<V> result = transposed;
+        if (result == null) {
+            synchronized (this) {
+                result = transposed;
+                if (result == null) {
+                    result = new CompactGraph<>(this);
+                    transposed = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Считается один раз на снимок; по нему dijkstra и bellmanFord узнают, что граф ациклический
+    public TopologicalOrder<V> topologicalOrder() {
+        // Неориентированное ребро выглядело бы для Кана циклом из двух вершин
+        if (!directed) {
+            throw new IllegalStateException("Topological order requires a directed graph");
+        }
+        TopologicalOrder<V> result = topologicalOrder;
+        if (result == null) {
+            result = TopologicalOrder.of(this);
+            topologicalOrder = result;
+        }
+        return result;
+    }
+
+    // На ориентированном ациклическом графе пути считаются одним проходом в топологическом порядке
+    private boolean isDag() {
+        return directed && topologicalOrder().isAcyclic();
+    }
+
+    @SuppressWarnings("unchecked")
+    V label(int id) {
+        return (V) labels[id];
+    }
+
+    int idOf(V v) {
+        return ids.getOrDefault(v, -1);
+    }
+
+    private int requireId(V v, String message) {
+        int id = idOf(v);
+        if (id < 0) {
+            throw new RuntimeException(message);
+        }
+        return id;
+    }
+
+    @Override
+    public void addVertex(V v) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public void addEdge(V from, V to, int weight) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public void removeVertex(V v) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("Snapshot is read-only");
+    }
+
+    @Override
+    public Array<V> getAdjacent(V v) {
+        int id = requireId(v, "Vertex " + v + " not found");
+        Array<V> adjacentVertices = new Array<>(Math.max(1, offsets[id + 1] - offsets[id]));
+        for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+            adjacentVertices.add(label(targets[i]));
+        }
+        return adjacentVertices;
+    }
+
+    @Override
+    public void forEachNeighbor(V v, NeighborConsumer<V> action) {
+        int id = requireId(v, "Vertex " + v + " not found");
+        for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+            action.accept(label(targets[i]), weights[i]);
+        }
+    }
+
+    @Override
+    public void dfs(V start) {
+        System.out.println(dfsString(start));
+    }
+
+    @Override
+    public String dfsString(V start) {
+        int startId = requireId(start, "Start vertex " + start + " not found");
+
+        boolean[] visited = new boolean[labels.length];
+        IntStack stack = new IntStack();
+        stack.push(startId);
+
+        StringBuilder result = new StringBuilder();
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (!visited[current]) {
+                visited[current] = true;
+                result.append(labels[current]).append(" ");
+
+                for (int i = offsets[current + 1] - 1; i >= offsets[current]; i--) {
+                    if (!visited[targets[i]]) {
+                        stack.push(targets[i]);
+                    }
+                }
+            }
+        }
+        return result.toString().trim();
+    }
+
+    @Override
+    public void bfs(V start) {
+        System.out.println(bfsString(start));
+    }
+
+    @Override
+    public String bfsString(V start) {
+        int startId = requireId(start, "Start vertex " + start + " not found");
+
+        boolean[] visited = new boolean[labels.length];
+        IntQueue queue = new IntQueue();
+        visited[startId] = true;
+        queue.enqueue(startId);
+
+        StringBuilder result = new StringBuilder();
+        while (!queue.isEmpty()) {
+            int current = queue.dequeue();
+            result.append(labels[current]).append(" ");
+
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue.enqueue(neighbor);
+                }
+            }
+        }
+        return result.toString().trim();
+    }
+
+    @Override
+    public Traversal<V> bfsTraversal(V start) {
+        return new Traversal<>(this, start, false);
+    }
+
+    @Override
+    public Traversal<V> dfsTraversal(V start) {
+        return new Traversal<>(this, start, true);
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return idOf(v) >= 0;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return labels.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public Array<V> getVertices() {
+        Array<V> vertices = new Array<>(Math.max(1, labels.length));
+        for (int i = 0; i < labels.length; i++) {
+            vertices.add(label(i));
+        }
+        return vertices;
+    }
+
+    @Override
+    public Iterable<V> vertices() {
+        return () -> new java.util.Iterator<V>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < labels.length;
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                return label(next++);
+            }
+        };
+    }
+
+    @Override
+    public Integer getEdgeWeight(V from, V to) {
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        if (fromId < 0 || toId < 0) {
+            return null;
+        }
+        for (int i = offsets[fromId]; i < offsets[fromId + 1]; i++) {
+            if (targets[i] == toId) {
+                return weights[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String dijkstra(V start) {
+        if (idOf(start) < 0) {
+            return "Стартовая вершина " + start + " не найдена";
+        }
+
+        if (hasNegativeWeights && !isDag()) {
+            return "Ошибка: алгоритм Дейкстры не работает с отрицательными весами";
+        }
+
+        return ShortestPathFormatter.dijkstraReport(dijkstraResult(start));
+    }
+
+    @Override
+    public ShortestPathResult<V> dijkstraResult(V start) {
+        int source = requireId(start, "Start vertex " + start + " not found");
+        if (isDag()) {
+            return new DagPaths<>(this).shortest(start);
+        }
+        if (hasNegativeWeights) {
+            throw new IllegalStateException("Dijkstra does not support negative edge weights");
+        }
+
+        int n = labels.length;
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        boolean[] visited = new boolean[n];
+        java.util.Arrays.fill(distances, ShortestPathResult.UNREACHABLE);
+        java.util.Arrays.fill(previous, -1);
+        distances[source] = 0;
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            visited[current] = true;
+
+            // Обновляем расстояния до всех соседей
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (!visited[neighbor]) {
+                    long newDistance = (long) distances[current] + weights[i];
+                    if (newDistance < distances[neighbor]) {
+                        distances[neighbor] = (int) newDistance;
+                        previous[neighbor] = current;
+                        heap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+        }
+
+        return new ShortestPathResult<>(this, source, distances, previous, false);
+    }
+
+    @Override
+    public String bellmanFord(V start) {
+        if (idOf(start) < 0) {
+            return "Стартовая вершина " + start + " не найдена";
+        }
+
+        return ShortestPathFormatter.bellmanFordReport(bellmanFordResult(start));
+    }
+
+    // Очередь вместо |V| - 1 полных проходов, см. Spfa
+    @Override
+    public ShortestPathResult<V> bellmanFordResult(V start) {
+        if (isDag()) {
+            return new DagPaths<>(this).shortest(start);
+        }
+        return new Spfa<>(this).run(start);
+    }
+
+    // Для серии запросов выгоднее держать свой PathSearch: он переиспользует массивы
+    @Override
+    public Path<V> shortestPath(V from, V to) {
+        return new PathSearch<>(this).bidirectional(from, to);
+    }
+
+    @Override
+    public Path<V> shortestPath(V from, V to, Heuristic<V> heuristic) {
+        return new PathSearch<>(this).aStar(from, to, heuristic);
+    }
+
+    // Параллельные поиски ответвлений - в KShortestPaths.findParallel
+    @Override
+    public Array<Path<V>> kShortestPaths(V from, V to, int k) {
+        return new KShortestPaths<>(this).find(from, to, k);
+    }
+
+    boolean hasNegativeWeights() {
+        return hasNegativeWeights;
+    }
+}
@@ -0,0 +1,70 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Разбиение вершин на компоненты: номер компоненты для каждой вершины и размеры компонент.
+// Номера идут с 0 в порядке первой вершины компоненты в getVertices() снимка
+public class Components<V> {
+    private final CompactGraph<V> graph;
+    private final int[] componentIds;
+    private final int[] sizes;
+
+    Components(CompactGraph<V> graph, int[] componentIds, int[] sizes) {
+        this.graph = graph;
+        this.componentIds = componentIds;
+        this.sizes = sizes;
+    }
+
+    public int getCount() {
+        return sizes.length;
+    }
+
+    public int componentOf(V v) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        return componentIds[id];
+    }
+
+    public boolean connected(V a, V b) {
+        return componentOf(a) == componentOf(b);
+    }
+
+    public int sizeOf(int component) {
+        return sizes[component];
+    }
+
+    public Array<V> verticesOf(int component) {
+        Array<V> vertices = new Array<>(Math.max(1, sizes[component]));
+        for (int id = 0; id < componentIds.length; id++) {
+            if (componentIds[id] == component) {
+                vertices.add(graph.label(id));
+            }
+        }
+        return vertices;
+    }
+
+    // Номера компонент в порядке getVertices() снимка; массив не копируется
+    public int[] getComponentIds() {
+        return componentIds;
+    }
+
+    // Размеры компонент по их номерам; массив не копируется
+    public int[] getSizes() {
+        return sizes;
+    }
+
+    // histogram[s] - число компонент размера s
+    public int[] sizeHistogram() {
+        int largest = 0;
+        for (int size : sizes) {
+            largest = Math.max(largest, size);
+        }
+        int[] histogram = new int[largest + 1];
+        for (int size : sizes) {
+            histogram[size]++;
+        }
+        return histogram;
+    }
+}
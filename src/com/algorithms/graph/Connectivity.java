@@ -0,0 +1,155 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.ConcurrentUnionFind;
+import com.algorithms.graph.structures.UnionFind;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Компоненты связности (через систему непересекающихся множеств) и компоненты
+// сильной связности (итеративный Тарьян, без рекурсии) на снимке графа
+public class Connectivity<V> {
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+
+    public Connectivity(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public Connectivity(CompactGraph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    // Для ориентированного графа направление рёбер не учитывается (слабая связность)
+    public Components<V> connectedComponents() {
+        int n = graph.labels.length;
+        UnionFind sets = new UnionFind(n);
+        for (int u = 0; u < n; u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                sets.union(u, graph.targets[i]);
+            }
+        }
+
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = sets.find(v);
+        }
+        return normalize(roots);
+    }
+
+    // То же, но рёбра объединяются параллельно в ConcurrentUnionFind
+    public Components<V> connectedComponentsParallel() {
+        int n = graph.labels.length;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                    sets.union(u, graph.targets[i]);
+                }
+            }
+        });
+
+        int[] roots = new int[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int v = first; v < last; v++) {
+                roots[v] = sets.find(v);
+            }
+        });
+        return normalize(roots);
+    }
+
+    // Для неориентированного графа совпадает с connectedComponents()
+    public Components<V> stronglyConnectedComponents() {
+        if (!graph.isDirected()) {
+            return connectedComponents();
+        }
+
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        boolean[] onStack = new boolean[n];
+        java.util.Arrays.fill(index, -1);
+
+        // Стек вершин Тарьяна и явный стек вызовов: вершина и позиция в её списке рёбер
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callVertex = new int[n];
+        int[] callEdge = new int[n];
+        int depth = 0;
+        int nextIndex = 0;
+        int components = 0;
+
+        for (int start = 0; start < n; start++) {
+            if (index[start] >= 0) {
+                continue;
+            }
+            index[start] = low[start] = nextIndex++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+            callVertex[depth] = start;
+            callEdge[depth] = offsets[start];
+            depth++;
+
+            while (depth > 0) {
+                int u = callVertex[depth - 1];
+                int i = callEdge[depth - 1];
+                if (i < offsets[u + 1]) {
+                    callEdge[depth - 1]++;
+                    int v = targets[i];
+                    if (index[v] < 0) {
+                        index[v] = low[v] = nextIndex++;
+                        stack[stackSize++] = v;
+                        onStack[v] = true;
+                        callVertex[depth] = v;
+                        callEdge[depth] = offsets[v];
+                        depth++;
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], index[v]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callVertex[depth - 1];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+                // u - корень компоненты: снимаем её со стека
+                if (low[u] == index[u]) {
+                    int v;
+                    do {
+                        v = stack[--stackSize];
+                        onStack[v] = false;
+                        component[v] = components;
+                    } while (v != u);
+                    components++;
+                }
+            }
+        }
+        return normalize(component);
+    }
+
+    // Перенумерует метки компонент в 0, 1, ... по первой встреченной вершине и считает размеры
+    private Components<V> normalize(int[] labels) {
+        int n = labels.length;
+        int[] remap = new int[n];
+        java.util.Arrays.fill(remap, -1);
+        int[] componentIds = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (remap[labels[v]] < 0) {
+                remap[labels[v]] = count++;
+            }
+            componentIds[v] = remap[labels[v]];
+        }
+
+        int[] sizes = new int[count];
+        for (int id : componentIds) {
+            sizes[id]++;
+        }
+        return new Components<>(graph, componentIds, sizes);
+    }
+}
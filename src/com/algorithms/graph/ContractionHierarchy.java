@@ -0,0 +1,670 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+import com.algorithms.graph.structures.IntStack;
+import com.algorithms.graph.structures.ObjIntMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+// Индекс Contraction Hierarchies для серии запросов кратчайшего пути на неизменном графе.
+// Вершины стягиваются по возрастанию важности; если через стягиваемую вершину проходил
+// единственный кратчайший путь между соседями, добавляется ребро-сокращение.
+// Запрос - двунаправленный Дейкстра только по рёбрам к более важным вершинам.
+// Расстояния совпадают с dijkstra() на снимке графа, по которому построен индекс
+public class ContractionHierarchy<V> {
+    private static final int FORMAT_VERSION = 1;
+
+    private final Object[] labels;
+    private final ObjIntMap<V> ids;
+    // Рёбра u -> v к более важным v (up) и v -> u от более важных v (down);
+    // middle - стянутая вершина, которую заменяет сокращение, или -1 для исходного ребра
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downWeights;
+    private final int[] downMiddles;
+    private final ThreadLocal<Query> queries;
+
+    public ContractionHierarchy(AbstractGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    // Оценка важности и поиск свидетелей выполняются параллельно в pool
+    public ContractionHierarchy(AbstractGraph<V> graph, ForkJoinPool pool) {
+        this(new Contraction(graph.snapshot(), pool).run());
+    }
+
+    private ContractionHierarchy(Contraction c) {
+        this(c.labels, c.upOffsets, c.upTargets, c.upWeights, c.upMiddles,
+                c.downOffsets, c.downSources, c.downWeights, c.downMiddles);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ContractionHierarchy(Object[] labels,
+                                 int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddles,
+                                 int[] downOffsets, int[] downSources, int[] downWeights, int[] downMiddles) {
+        this.labels = labels;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+        this.ids = new ObjIntMap<>(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            ids.put((V) labels[i], i);
+        }
+        this.queries = ThreadLocal.withInitial(() -> new Query(labels.length));
+    }
+
+    public int getVertexCount() {
+        return labels.length;
+    }
+
+    // Число рёбер индекса вместе с сокращениями
+    public int getEdgeCount() {
+        return upTargets.length + downSources.length;
+    }
+
+    // ShortestPathResult.UNREACHABLE, если пути нет
+    public int distance(V from, V to) {
+        Query query = queries.get();
+        query.run(requireId(from, "Start vertex " + from + " not found"),
+                requireId(to, "Target vertex " + to + " not found"));
+        return query.best == Long.MAX_VALUE ? ShortestPathResult.UNREACHABLE : (int) query.best;
+    }
+
+    public Path<V> shortestPath(V from, V to) {
+        int source = requireId(from, "Start vertex " + from + " not found");
+        int target = requireId(to, "Target vertex " + to + " not found");
+        Query query = queries.get();
+        query.run(source, target);
+        if (query.meet < 0) {
+            return new Path<>(new Array<>(1), ShortestPathResult.UNREACHABLE, query.settled);
+        }
+
+        // Рёбра до точки встречи: прямой поиск хранит их в обратном порядке
+        IntStack forwardEdges = new IntStack();
+        for (int v = query.meet; v != source; v = query.forward.previous[v]) {
+            forwardEdges.push(query.forward.edge[v]);
+        }
+
+        IntStack vertices = new IntStack();
+        vertices.push(source);
+        for (int v = source; !forwardEdges.isEmpty(); ) {
+            int edge = forwardEdges.pop();
+            unpack(v, upTargets[edge], upMiddles[edge], vertices);
+            v = upTargets[edge];
+        }
+        for (int v = query.meet; v != target; v = query.backward.previous[v]) {
+            int edge = query.backward.edge[v];
+            unpack(v, query.backward.previous[v], downMiddles[edge], vertices);
+        }
+
+        int[] order = new int[vertices.size()];
+        for (int k = order.length - 1; k >= 0; k--) {
+            order[k] = vertices.pop();
+        }
+        Array<V> path = new Array<>(order.length);
+        for (int id : order) {
+            path.add(label(id));
+        }
+        return new Path<>(path, (int) query.best, query.settled);
+    }
+
+    // Сохраняет индекс; вершины графа должны быть Serializable
+    public void writeTo(OutputStream out) throws IOException {
+        ObjectOutputStream stream = new ObjectOutputStream(out);
+        stream.writeInt(FORMAT_VERSION);
+        stream.writeObject(labels);
+        for (int[] array : new int[][]{upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles}) {
+            stream.writeObject(array);
+        }
+        stream.flush();
+    }
+
+    public static <V> ContractionHierarchy<V> readFrom(InputStream in) throws IOException {
+        ObjectInputStream stream = new ObjectInputStream(in);
+        if (stream.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported contraction hierarchy format");
+        }
+        try {
+            Object[] labels = (Object[]) stream.readObject();
+            int[][] arrays = new int[8][];
+            for (int i = 0; i < arrays.length; i++) {
+                arrays[i] = (int[]) stream.readObject();
+            }
+            return new ContractionHierarchy<>(labels, arrays[0], arrays[1], arrays[2], arrays[3],
+                    arrays[4], arrays[5], arrays[6], arrays[7]);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Corrupted contraction hierarchy", e);
+        }
+    }
+
+    // Разворачивает ребро from -> to в исходные рёбра и дописывает вершины после from
+    private void unpack(int from, int to, int middle, IntStack vertices) {
+        IntStack pending = new IntStack();
+        pending.push(from);
+        pending.push(to);
+        pending.push(middle);
+        while (!pending.isEmpty()) {
+            int m = pending.pop();
+            int b = pending.pop();
+            int a = pending.pop();
+            if (m < 0) {
+                vertices.push(b);
+                continue;
+            }
+            // Средняя вершина стянута раньше обоих концов: a -> m лежит в down-списке m, m -> b - в up-списке
+            pending.push(m);
+            pending.push(b);
+            pending.push(upMiddles[findUp(m, b)]);
+            pending.push(a);
+            pending.push(m);
+            pending.push(downMiddles[findDown(m, a)]);
+        }
+    }
+
+    private int findUp(int u, int target) {
+        for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++) {
+            if (upTargets[i] == target) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Broken shortcut " + u + " -> " + target);
+    }
+
+    private int findDown(int u, int source) {
+        for (int i = downOffsets[u]; i < downOffsets[u + 1]; i++) {
+            if (downSources[i] == source) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Broken shortcut " + source + " -> " + u);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V label(int id) {
+        return (V) labels[id];
+    }
+
+    private int requireId(V v, String message) {
+        int id = ids.getOrDefault(v, -1);
+        if (id < 0) {
+            throw new RuntimeException(message);
+        }
+        return id;
+    }
+
+    // Рабочие массивы запроса, свои у каждого потока; сбрасываются через номер запроса
+    private final class Query {
+        final Search forward;
+        final Search backward;
+        int stamp;
+        long best;
+        int meet;
+        int settled;
+
+        Query(int n) {
+            forward = new Search(n, upOffsets, upTargets, upWeights, downOffsets, downSources, downWeights);
+            backward = new Search(n, downOffsets, downSources, downWeights, upOffsets, upTargets, upWeights);
+        }
+
+        void run(int source, int target) {
+            if (++stamp == Integer.MAX_VALUE) {
+                stamp = 1;
+                java.util.Arrays.fill(forward.seen, 0);
+                java.util.Arrays.fill(backward.seen, 0);
+            }
+            best = Long.MAX_VALUE;
+            meet = -1;
+            settled = 0;
+            forward.open(source, stamp);
+            backward.open(target, stamp);
+
+            // Поиски вверх не сходятся по порядку, поэтому каждый идёт до тех пор,
+            // пока его минимум меньше лучшего найденного пути
+            while (true) {
+                long topForward = forward.heap.isEmpty() ? Long.MAX_VALUE : forward.heap.keyOf(forward.heap.peekMin());
+                long topBackward = backward.heap.isEmpty() ? Long.MAX_VALUE : backward.heap.keyOf(backward.heap.peekMin());
+                if (Math.min(topForward, topBackward) >= best) {
+                    break;
+                }
+                Search side = topForward <= topBackward ? forward : backward;
+                Search other = side == forward ? backward : forward;
+                int u = side.heap.pollMin();
+                settled++;
+                if (other.seen[u] == stamp) {
+                    long total = (long) side.distances[u] + other.distances[u];
+                    if (total < best) {
+                        best = total;
+                        meet = u;
+                    }
+                }
+                side.relax(u, stamp);
+            }
+        }
+    }
+
+    private static final class Search {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+        // Рёбра противоположного направления - для проверки stall-on-demand
+        final int[] stallOffsets;
+        final int[] stallTargets;
+        final int[] stallWeights;
+        final int[] distances;
+        final int[] previous;
+        final int[] edge;
+        final int[] seen;
+        final IndexedMinHeap heap;
+
+        Search(int n, int[] offsets, int[] targets, int[] weights,
+               int[] stallOffsets, int[] stallTargets, int[] stallWeights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.stallOffsets = stallOffsets;
+            this.stallTargets = stallTargets;
+            this.stallWeights = stallWeights;
+            distances = new int[n];
+            previous = new int[n];
+            edge = new int[n];
+            seen = new int[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        void open(int start, int stamp) {
+            heap.clear();
+            seen[start] = stamp;
+            distances[start] = 0;
+            previous[start] = -1;
+            heap.insert(start, 0);
+        }
+
+        void relax(int u, int stamp) {
+            // Если до u есть более короткий путь через более важную вершину, этот поиск
+            // через u кратчайшего пути не найдёт, и рёбра u можно не просматривать
+            for (int i = stallOffsets[u]; i < stallOffsets[u + 1]; i++) {
+                int v = stallTargets[i];
+                if (seen[v] == stamp && (long) distances[v] + stallWeights[i] < distances[u]) {
+                    return;
+                }
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                long newDistance = (long) distances[u] + weights[i];
+                if (seen[v] != stamp || newDistance < distances[v]) {
+                    seen[v] = stamp;
+                    distances[v] = (int) newDistance;
+                    previous[v] = u;
+                    edge[v] = i;
+                    heap.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+    }
+
+    // Построение иерархии. Каждый раунд стягивает независимое множество вершин,
+    // чья важность меньше, чем у всех оставшихся соседей; сокращения для них ищутся параллельно,
+    // причём пути-свидетели не проходят через вершины этого же раунда
+    private static final class Contraction {
+        // Ограничение поиска свидетеля; если свидетель не найден, сокращение добавляется на всякий случай
+        private static final int WITNESS_SETTLE_LIMIT = 100;
+        // Для оценки важности достаточно грубого поиска: лишние сокращения только завышают оценку
+        private static final int ESTIMATE_SETTLE_LIMIT = 10;
+
+        final Object[] labels;
+        final ForkJoinPool pool;
+        final int n;
+        final Adjacency[] out;
+        final Adjacency[] in;
+        final boolean[] selected;
+        final int[] priority;
+        final int[] contractedNeighbours;
+        final ConcurrentLinkedQueue<Witness> idleWitnesses = new ConcurrentLinkedQueue<>();
+
+        int[] upOffsets;
+        int[] upTargets;
+        int[] upWeights;
+        int[] upMiddles;
+        int[] downOffsets;
+        int[] downSources;
+        int[] downWeights;
+        int[] downMiddles;
+
+        Contraction(CompactGraph<?> graph, ForkJoinPool pool) {
+            if (graph.hasNegativeWeights()) {
+                throw new IllegalStateException("Contraction hierarchies do not support negative edge weights");
+            }
+            this.labels = graph.labels;
+            this.pool = pool;
+            this.n = graph.labels.length;
+            this.out = new Adjacency[n];
+            this.in = new Adjacency[n];
+            this.selected = new boolean[n];
+            this.priority = new int[n];
+            this.contractedNeighbours = new int[n];
+
+            for (int u = 0; u < n; u++) {
+                out[u] = new Adjacency();
+                in[u] = new Adjacency();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                    int v = graph.targets[i];
+                    // Петли не лежат на кратчайших путях при неотрицательных весах
+                    if (v != u) {
+                        out[u].putMin(v, graph.weights[i], -1);
+                        in[v].putMin(u, graph.weights[i], -1);
+                    }
+                }
+            }
+        }
+
+        Contraction run() {
+            int[] remaining = new int[n];
+            for (int v = 0; v < n; v++) {
+                remaining[v] = v;
+            }
+            updatePriorities(remaining, n);
+
+            int remainingCount = n;
+            int[] batch = new int[n];
+            int[] touched = new int[n];
+            boolean[] isTouched = new boolean[n];
+            while (remainingCount > 0) {
+                Parallel.forRange(pool, 0, remainingCount, Parallel.DEFAULT_GRAIN, (first, last) -> {
+                    for (int k = first; k < last; k++) {
+                        selected[remaining[k]] = isLocalMinimum(remaining[k]);
+                    }
+                });
+
+                int batchSize = 0;
+                int kept = 0;
+                for (int k = 0; k < remainingCount; k++) {
+                    int v = remaining[k];
+                    if (selected[v]) {
+                        batch[batchSize++] = v;
+                    } else {
+                        remaining[kept++] = v;
+                    }
+                }
+                remainingCount = kept;
+
+                int[][] shortcuts = new int[batchSize][];
+                Parallel.forRange(pool, 0, batchSize, 16, (first, last) -> {
+                    Witness witness = acquireWitness();
+                    for (int k = first; k < last; k++) {
+                        shortcuts[k] = findShortcuts(batch[k], witness, true);
+                    }
+                    idleWitnesses.add(witness);
+                });
+
+                // Применение раунда последовательно: списки соседей меняются только здесь
+                int touchedCount = 0;
+                for (int k = 0; k < batchSize; k++) {
+                    int u = batch[k];
+                    for (int i = 0; i < out[u].size; i++) {
+                        int b = out[u].targets[i];
+                        in[b].remove(u);
+                        contractedNeighbours[b]++;
+                        if (!isTouched[b]) {
+                            isTouched[b] = true;
+                            touched[touchedCount++] = b;
+                        }
+                    }
+                    for (int i = 0; i < in[u].size; i++) {
+                        int a = in[u].targets[i];
+                        out[a].remove(u);
+                        contractedNeighbours[a]++;
+                        if (!isTouched[a]) {
+                            isTouched[a] = true;
+                            touched[touchedCount++] = a;
+                        }
+                    }
+                }
+                for (int k = 0; k < batchSize; k++) {
+                    int u = batch[k];
+                    int[] found = shortcuts[k];
+                    for (int i = 0; i < found.length; i += 3) {
+                        out[found[i]].putMin(found[i + 1], found[i + 2], u);
+                        in[found[i + 1]].putMin(found[i], found[i + 2], u);
+                    }
+                    selected[u] = false;
+                }
+
+                for (int k = 0; k < touchedCount; k++) {
+                    isTouched[touched[k]] = false;
+                }
+                updatePriorities(touched, touchedCount);
+            }
+
+            // После стягивания списки вершины больше не меняются и содержат ровно рёбра к более важным
+            upOffsets = new int[n + 1];
+            downOffsets = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                upOffsets[u + 1] = upOffsets[u] + out[u].size;
+                downOffsets[u + 1] = downOffsets[u] + in[u].size;
+            }
+            upTargets = new int[upOffsets[n]];
+            upWeights = new int[upOffsets[n]];
+            upMiddles = new int[upOffsets[n]];
+            downSources = new int[downOffsets[n]];
+            downWeights = new int[downOffsets[n]];
+            downMiddles = new int[downOffsets[n]];
+            for (int u = 0; u < n; u++) {
+                out[u].copyTo(upTargets, upWeights, upMiddles, upOffsets[u]);
+                in[u].copyTo(downSources, downWeights, downMiddles, downOffsets[u]);
+            }
+            return this;
+        }
+
+        // Важность: удвоенная разница между добавляемыми сокращениями и удаляемыми рёбрами
+        // плюс число уже стянутых соседей, чтобы стягивание шло по графу равномерно
+        private void updatePriorities(int[] vertices, int count) {
+            Parallel.forRange(pool, 0, count, 16, (first, last) -> {
+                Witness witness = acquireWitness();
+                for (int k = first; k < last; k++) {
+                    int v = vertices[k];
+                    int added = findShortcuts(v, witness, false).length / 3;
+                    priority[v] = 2 * (added - out[v].size - in[v].size) + contractedNeighbours[v];
+                }
+                idleWitnesses.add(witness);
+            });
+        }
+
+        // Рабочие массивы поиска свидетелей: не больше, чем задач выполняется одновременно
+        private Witness acquireWitness() {
+            Witness witness = idleWitnesses.poll();
+            return witness != null ? witness : new Witness(n);
+        }
+
+        private boolean isLocalMinimum(int v) {
+            for (int i = 0; i < out[v].size; i++) {
+                if (precedes(out[v].targets[i], v)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                if (precedes(in[v].targets[i], v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean precedes(int a, int b) {
+            return priority[a] < priority[b] || (priority[a] == priority[b] && a < b);
+        }
+
+        // Тройки (a, b, вес) для пар соседей, между которыми нет пути не длиннее пути через u.
+        // В раунде стягивания пути-свидетели обходят все выбранные вершины
+        private int[] findShortcuts(int u, Witness witness, boolean avoidSelected) {
+            Adjacency incoming = in[u];
+            Adjacency outgoing = out[u];
+            if (incoming.size == 0 || outgoing.size == 0) {
+                return new int[0];
+            }
+
+            IntStack found = new IntStack();
+            for (int i = 0; i < incoming.size; i++) {
+                int a = incoming.targets[i];
+                long limit = -1;
+                for (int j = 0; j < outgoing.size; j++) {
+                    if (outgoing.targets[j] != a) {
+                        limit = Math.max(limit, (long) incoming.weights[i] + outgoing.weights[j]);
+                    }
+                }
+                if (limit < 0) {
+                    continue;
+                }
+
+                witness.search(a, u, limit, avoidSelected, avoidSelected ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+                for (int j = 0; j < outgoing.size; j++) {
+                    int b = outgoing.targets[j];
+                    if (b == a) {
+                        continue;
+                    }
+                    long via = (long) incoming.weights[i] + outgoing.weights[j];
+                    if (witness.distance(b) > via) {
+                        found.push(a);
+                        found.push(b);
+                        found.push((int) via);
+                    }
+                }
+            }
+
+            int[] result = new int[found.size()];
+            for (int k = result.length - 1; k >= 0; k--) {
+                result[k] = found.pop();
+            }
+            return result;
+        }
+
+        // Ограниченный Дейкстра из a в обход вершины u
+        private final class Witness {
+            final int[] distances;
+            final int[] seen;
+            final int[] target;
+            final IndexedMinHeap heap;
+            int stamp;
+
+            Witness(int n) {
+                distances = new int[n];
+                seen = new int[n];
+                target = new int[n];
+                heap = new IndexedMinHeap(n);
+            }
+
+            // Останавливается, когда извлечены все соседи skip, кроме start
+            void search(int start, int skip, long limit, boolean avoidSelected, int settleLimit) {
+                if (++stamp == Integer.MAX_VALUE) {
+                    stamp = 1;
+                    java.util.Arrays.fill(seen, 0);
+                    java.util.Arrays.fill(target, 0);
+                }
+                heap.clear();
+                seen[start] = stamp;
+                distances[start] = 0;
+                heap.insert(start, 0);
+
+                Adjacency targets = out[skip];
+                int remaining = 0;
+                for (int i = 0; i < targets.size; i++) {
+                    if (targets.targets[i] != start) {
+                        target[targets.targets[i]] = stamp;
+                        remaining++;
+                    }
+                }
+
+                int settled = 0;
+                while (!heap.isEmpty() && settled++ < settleLimit) {
+                    int x = heap.pollMin();
+                    if (distances[x] > limit || (target[x] == stamp && --remaining == 0)) {
+                        break;
+                    }
+                    Adjacency edges = out[x];
+                    for (int i = 0; i < edges.size; i++) {
+                        int y = edges.targets[i];
+                        if (y == skip || (avoidSelected && selected[y])) {
+                            continue;
+                        }
+                        long newDistance = (long) distances[x] + edges.weights[i];
+                        if (seen[y] != stamp || newDistance < distances[y]) {
+                            seen[y] = stamp;
+                            distances[y] = (int) newDistance;
+                            heap.insertOrDecrease(y, newDistance);
+                        }
+                    }
+                }
+            }
+
+            long distance(int v) {
+                return seen[v] == stamp ? distances[v] : Long.MAX_VALUE;
+            }
+        }
+    }
+
+    // Изменяемый список рёбер вершины во время построения
+    private static final class Adjacency {
+        int[] targets = new int[4];
+        int[] weights = new int[4];
+        int[] middles = new int[4];
+        int size;
+
+        // Оставляет ребро с меньшим весом
+        void putMin(int target, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == targets.length) {
+                targets = java.util.Arrays.copyOf(targets, size * 2);
+                weights = java.util.Arrays.copyOf(weights, size * 2);
+                middles = java.util.Arrays.copyOf(middles, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    size--;
+                    targets[i] = targets[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+
+        void copyTo(int[] targetArray, int[] weightArray, int[] middleArray, int offset) {
+            System.arraycopy(targets, 0, targetArray, offset, size);
+            System.arraycopy(weights, 0, weightArray, offset, size);
+            System.arraycopy(middles, 0, middleArray, offset, size);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Point;
+
+import java.util.function.Function;
+
+// Евклидово расстояние между координатами вершин, умноженное на scale.
+// Допустима, если вес каждого ребра не меньше scale * длины отрезка между его концами
+public class CoordinateHeuristic<V> implements Heuristic<V> {
+    private final Function<V, Point> positions;
+    private final double scale;
+
+    public CoordinateHeuristic(Function<V, Point> positions) {
+        this(positions, 1.0);
+    }
+
+    public CoordinateHeuristic(Function<V, Point> positions, double scale) {
+        this.positions = positions;
+        this.scale = scale;
+    }
+
+    @Override
+    public int estimate(V vertex, V target) {
+        Point from = positions.apply(vertex);
+        Point to = positions.apply(target);
+        if (from == null || to == null) {
+            return 0;
+        }
+        return (int) Math.floor(from.distanceTo(to) * scale);
+    }
+}
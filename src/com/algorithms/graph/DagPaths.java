@@ -0,0 +1,111 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Кратчайшие и длиннейшие (критические) пути в ациклическом графе за O(V + E):
+// вершины релаксируются один раз в топологическом порядке, начиная с источника.
+// Отрицательные веса допустимы
+public class DagPaths<V> {
+    private final CompactGraph<V> graph;
+    private final int[] order;
+    private final int[] position;
+
+    public DagPaths(CompactGraph<V> graph) {
+        if (!graph.isDirected()) {
+            throw new IllegalArgumentException("DAG paths require a directed graph");
+        }
+        TopologicalOrder<V> topological = graph.topologicalOrder();
+        if (!topological.isAcyclic()) {
+            throw new IllegalStateException("Graph contains a cycle: " + topological.getCycle());
+        }
+        this.graph = graph;
+        this.order = topological.order();
+        this.position = topological.positions();
+    }
+
+    public ShortestPathResult<V> shortest(V start) {
+        return relax(requireSource(start), false);
+    }
+
+    // distanceTo - вес самого тяжёлого пути из start; недостижимые вершины - UNREACHABLE
+    public ShortestPathResult<V> longest(V start) {
+        return relax(requireSource(start), true);
+    }
+
+    // Самый тяжёлый путь во всём графе: каждая вершина может быть началом
+    public Path<V> criticalPath() {
+        int n = order.length;
+        if (n == 0) {
+            return new Path<>(new Array<>(), ShortestPathResult.UNREACHABLE, 0);
+        }
+        long[] distances = new long[n];
+        int[] previous = new int[n];
+        java.util.Arrays.fill(previous, -1);
+        for (int u : order) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                long candidate = distances[u] + graph.weights[i];
+                if (candidate > distances[v]) {
+                    distances[v] = candidate;
+                    previous[v] = u;
+                }
+            }
+        }
+
+        int end = 0;
+        for (int v = 1; v < n; v++) {
+            if (distances[v] > distances[end]) {
+                end = v;
+            }
+        }
+        int length = 0;
+        for (int v = end; v >= 0; v = previous[v]) {
+            length++;
+        }
+        int[] ids = new int[length];
+        for (int v = end, k = length; v >= 0; v = previous[v]) {
+            ids[--k] = v;
+        }
+        Array<V> vertices = new Array<>(length);
+        for (int id : ids) {
+            vertices.add(graph.label(id));
+        }
+        return new Path<>(vertices, (int) distances[end], n);
+    }
+
+    private ShortestPathResult<V> relax(int source, boolean longest) {
+        int n = order.length;
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        java.util.Arrays.fill(distances, ShortestPathResult.UNREACHABLE);
+        java.util.Arrays.fill(previous, -1);
+        distances[source] = 0;
+
+        // Вершины раньше источника в порядке из него недостижимы
+        for (int k = position[source]; k < n; k++) {
+            int u = order[k];
+            if (distances[u] == ShortestPathResult.UNREACHABLE) {
+                continue;
+            }
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                long candidate = (long) distances[u] + graph.weights[i];
+                boolean better = distances[v] == ShortestPathResult.UNREACHABLE
+                        || (longest ? candidate > distances[v] : candidate < distances[v]);
+                if (better) {
+                    distances[v] = (int) candidate;
+                    previous[v] = u;
+                }
+            }
+        }
+        return new ShortestPathResult<>(graph, source, distances, previous, false);
+    }
+
+    private int requireSource(V start) {
+        int source = graph.idOf(start);
+        if (source < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+        return source;
+    }
+}
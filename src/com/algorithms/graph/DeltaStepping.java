@@ -0,0 +1,295 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.IntStack;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Параллельный поиск кратчайших путей методом delta-stepping (Meyer, Sanders) для неотрицательных весов.
+// Вершины раскладываются по корзинам ширины delta; внутри корзины лёгкие рёбра (w <= delta)
+// релаксируются параллельно до стабилизации, затем один раз релаксируются тяжёлые.
+// Результат совпадает по расстояниям с CompactGraph.dijkstraResult
+public class DeltaStepping<V> {
+    // Наибольшее число корзин в кольце; более дальние записи ждут в корзине переполнения
+    static final int MAX_RING = 1 << 16;
+
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final int delta;
+    private final int maxWeight;
+
+    // Рёбра каждой вершины переупорядочены: сначала лёгкие, с lightEnd[u] - тяжёлые
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] lightEnd;
+
+    public DeltaStepping(CompactGraph<V> graph) {
+        this(graph, defaultDelta(graph));
+    }
+
+    public DeltaStepping(CompactGraph<V> graph, int delta) {
+        this(graph, delta, ForkJoinPool.commonPool());
+    }
+
+    public DeltaStepping(CompactGraph<V> graph, int delta, ForkJoinPool pool) {
+        if (graph.hasNegativeWeights()) {
+            throw new IllegalStateException("Delta-stepping does not support negative edge weights");
+        }
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta must be positive");
+        }
+        this.graph = graph;
+        this.pool = pool;
+        this.delta = delta;
+        this.maxWeight = maxWeight(graph);
+
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        this.targets = new int[graph.targets.length];
+        this.weights = new int[graph.weights.length];
+        this.lightEnd = new int[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                int light = offsets[u];
+                int heavy = offsets[u + 1];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int slot = graph.weights[i] <= delta ? light++ : --heavy;
+                    targets[slot] = graph.targets[i];
+                    weights[slot] = graph.weights[i];
+                }
+                lightEnd[u] = light;
+            }
+        });
+    }
+
+    // Эвристика из статьи: максимальный вес, делённый на среднюю степень
+    private static int defaultDelta(CompactGraph<?> graph) {
+        int n = Math.max(1, graph.labels.length);
+        int averageDegree = Math.max(1, (graph.targets.length + n - 1) / n);
+        return Math.max(1, maxWeight(graph) / averageDegree);
+    }
+
+    private static int maxWeight(CompactGraph<?> graph) {
+        int max = 0;
+        for (int w : graph.weights) {
+            max = Math.max(max, w);
+        }
+        return max;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public ShortestPathResult<V> run(V start) {
+        int source = graph.idOf(start);
+        if (source < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+
+        int n = graph.labels.length;
+        // Расстояние и предок хранятся в одном long, чтобы обновляться одним CAS
+        AtomicLongArray state = new AtomicLongArray(n);
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int v = first; v < last; v++) {
+                state.set(v, pack(ShortestPathResult.UNREACHABLE, -1));
+            }
+        });
+        state.set(source, pack(0, -1));
+
+        // Новое расстояние не дальше maxWeight от текущей корзины, поэтому обычно хватает кольца корзин
+        int ringSize = (int) Math.min((long) maxWeight / delta + 2, MAX_RING);
+        BucketQueue buckets = new BucketQueue(ringSize);
+        buckets.push(source, 0);
+
+        int[] frontier = new int[n];
+        int[] roundMark = new int[n];
+        int[] bucketMark = new int[n];
+        int round = 0;
+        IntStack settled = new IntStack();
+
+        for (IntStack bucket = buckets.next(state); bucket != null; bucket = buckets.next(state)) {
+            int current = buckets.current;
+            settled.clear();
+            while (!bucket.isEmpty()) {
+                // Устаревшие записи (вершина уже ушла в меньшую корзину) и повторы пропускаются
+                round++;
+                int size = 0;
+                while (!bucket.isEmpty()) {
+                    int v = bucket.pop();
+                    if (roundMark[v] != round && distance(state.get(v)) / delta == current) {
+                        roundMark[v] = round;
+                        frontier[size++] = v;
+                        if (bucketMark[v] != current + 1) {
+                            bucketMark[v] = current + 1;
+                            settled.push(v);
+                        }
+                    }
+                }
+                relax(frontier, size, true, state, buckets);
+            }
+            buckets.drained();
+
+            int size = 0;
+            while (!settled.isEmpty()) {
+                frontier[size++] = settled.pop();
+            }
+            relax(frontier, size, false, state, buckets);
+        }
+
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int v = first; v < last; v++) {
+                long packed = state.get(v);
+                distances[v] = distance(packed);
+                previous[v] = (int) packed;
+            }
+        });
+        return new ShortestPathResult<>(graph, source, distances, previous, false);
+    }
+
+    // Параллельно релаксирует лёгкие или тяжёлые рёбра вершин фронта и раскладывает
+    // улучшенные вершины по корзинам
+    private void relax(int[] frontier, int size, boolean light, AtomicLongArray state, BucketQueue buckets) {
+        int[] offsets = graph.offsets;
+        int grain = Parallel.DEFAULT_GRAIN / 4;
+        IntStack[] changed = new IntStack[Parallel.chunks(size, grain)];
+
+        Parallel.forRange(pool, 0, changed.length, 1, (first, last) -> {
+            for (int c = first; c < last; c++) {
+                IntStack improved = new IntStack();
+                int end = Math.min(size, (c + 1) * grain);
+                for (int k = c * grain; k < end; k++) {
+                    int u = frontier[k];
+                    long base = distance(state.get(u));
+                    int from = light ? offsets[u] : lightEnd[u];
+                    int to = light ? lightEnd[u] : offsets[u + 1];
+                    for (int i = from; i < to; i++) {
+                        if (tryImprove(state, targets[i], base + weights[i], u)) {
+                            improved.push(targets[i]);
+                        }
+                    }
+                }
+                changed[c] = improved;
+            }
+        });
+
+        for (IntStack improved : changed) {
+            while (!improved.isEmpty()) {
+                int v = improved.pop();
+                buckets.push(v, distance(state.get(v)));
+            }
+        }
+    }
+
+    // Кольцо корзин с номерами от current до current + ring.length - 1. Корзины создаются
+    // при первой записи, занятые отмечены в битовой карте, поэтому пустые пропускаются сразу.
+    // Записи дальше кольца копятся в overflow и раскладываются, когда кольцо до них доходит
+    private final class BucketQueue {
+        final IntStack[] ring;
+        final long[] occupied;
+        final IntStack overflow = new IntStack();
+        // Нижняя граница номеров корзин записей в overflow
+        int overflowMin = Integer.MAX_VALUE;
+        int current;
+
+        BucketQueue(int size) {
+            ring = new IntStack[size];
+            occupied = new long[(size + 63) >>> 6];
+        }
+
+        void push(int v, int distance) {
+            int index = distance / delta;
+            if (index - current >= ring.length) {
+                overflow.push(v);
+                overflowMin = Math.min(overflowMin, index);
+                return;
+            }
+            int slot = index % ring.length;
+            if (ring[slot] == null) {
+                ring[slot] = new IntStack();
+            }
+            ring[slot].push(v);
+            occupied[slot >>> 6] |= 1L << slot;
+        }
+
+        // Текущая корзина обработана и пуста
+        void drained() {
+            int slot = current % ring.length;
+            occupied[slot >>> 6] &= ~(1L << slot);
+        }
+
+        // Ближайшая непустая корзина, её номер - в current; null, если записей не осталось
+        IntStack next(AtomicLongArray state) {
+            while (true) {
+                int gap = nextOccupied(current % ring.length);
+                if (gap >= 0 && (overflow.isEmpty() || (long) current + gap < overflowMin)) {
+                    current += gap;
+                    return ring[current % ring.length];
+                }
+                if (overflow.isEmpty()) {
+                    return null;
+                }
+                if (gap < 0) {
+                    current = Math.max(current, overflowMin);
+                }
+                spill(state);
+            }
+        }
+
+        // Переносит в кольцо записи overflow, до которых оно дошло; устаревшие отбрасываются
+        private void spill(AtomicLongArray state) {
+            int[] entries = new int[overflow.size()];
+            for (int k = 0; k < entries.length; k++) {
+                entries[k] = overflow.pop();
+            }
+            overflowMin = Integer.MAX_VALUE;
+            for (int v : entries) {
+                int distance = distance(state.get(v));
+                if (distance / delta >= current) {
+                    push(v, distance);
+                }
+            }
+        }
+
+        // Расстояние от slot до ближайшей занятой корзины по кругу; -1, если кольцо пусто
+        private int nextOccupied(int slot) {
+            int words = occupied.length;
+            for (int k = 0; k <= words; k++) {
+                int word = ((slot >>> 6) + k) % words;
+                long bits = occupied[word];
+                if (k == 0) {
+                    bits &= -1L << slot;
+                } else if (k == words) {
+                    bits &= ~(-1L << slot);
+                }
+                if (bits != 0) {
+                    int found = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    return (found - slot + ring.length) % ring.length;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static boolean tryImprove(AtomicLongArray state, int v, long newDistance, int predecessor) {
+        while (true) {
+            long current = state.get(v);
+            if (newDistance >= distance(current)) {
+                return false;
+            }
+            if (state.compareAndSet(v, current, pack((int) newDistance, predecessor))) {
+                return true;
+            }
+        }
+    }
+
+    private static long pack(int distance, int predecessor) {
+        return ((long) distance << 32) | (predecessor & 0xFFFFFFFFL);
+    }
+
+    private static int distance(long packed) {
+        return (int) (packed >>> 32);
+    }
+}
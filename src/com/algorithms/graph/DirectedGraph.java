@@ -3,68 +3,158 @@ package com.algorithms.graph;
 import com.algorithms.graph.structures.*;
 
 public class DirectedGraph<V> extends AbstractGraph<V> {
+    // Входящие рёбра по id вершины; null, пока индекс не включён
+    private Array<EdgeList> incoming;
+
     public DirectedGraph() {
+        this(false);
+    }
+
+    public DirectedGraph(boolean indexIncomingEdges) {
         super(true);
+        if (indexIncomingEdges) {
+            enableIncomingIndex();
+        }
+    }
+
+    // Строит индекс входящих рёбер за O(V + E); дальше он поддерживается при каждом изменении
+    public void enableIncomingIndex() {
+        if (incoming == null) {
+            incoming = buildIncoming();
+        }
+    }
+
+    private Array<EdgeList> buildIncoming() {
+        Array<EdgeList> lists = new Array<>(Math.max(1, idBound()));
+        for (int id = 0; id < idBound(); id++) {
+            lists.add(adjacencyList.get(id) == null ? null : new EdgeList());
+        }
+        for (int u = 0; u < idBound(); u++) {
+            EdgeList edges = adjacencyList.get(u);
+            if (edges == null) {
+                continue;
+            }
+            for (int i = 0; i < edges.size(); i++) {
+                lists.get(edges.targets[i]).append(u, edges.weights[i]);
+            }
+        }
+        return lists;
+    }
+
+    public boolean hasIncomingIndex() {
+        return incoming != null;
     }
 
     @Override
-    public void addEdge(V from, V to, int weight) {
-        addVertex(from);
-        addVertex(to);
+    protected void vertexAdded(int id) {
+        if (incoming == null) {
+            return;
+        }
+        if (id == incoming.size()) {
+            incoming.add(new EdgeList());
+        } else {
+            incoming.set(id, new EdgeList());
+        }
+    }
 
-        Array<Edge<V>> edges = adjacencyList.get(from);
-        Edge<V> newEdge = new Edge<>(to, weight);
+    @Override
+    protected void vertexReleased(int id) {
+        if (incoming != null) {
+            incoming.set(id, null);
+        }
+    }
 
-        // Remove existing edge if present
-        for (int i = 0; i < edges.size(); i++) {
-            if (edges.get(i).equals(newEdge)) {
-                edges.remove(i);
-                break;
-            }
+    @Override
+    public void addEdge(V from, V to, int weight) {
+        int fromId = internVertex(from);
+        int toId = internVertex(to);
+        putEdge(fromId, toId, weight);
+    }
+
+    @Override
+    protected boolean insertEdge(int fromId, int toId, int weight) {
+        // Existing edge keeps its slot and gets the new weight
+        boolean added = adjacencyList.get(fromId).put(toId, weight);
+        if (added) {
+            edgeCount++;
+        }
+        if (incoming != null) {
+            incoming.get(toId).put(fromId, weight);
         }
-        edges.add(newEdge);
+        return added;
+    }
 
+    @Override
+    protected void appendEdge(int fromId, int toId, int weight) {
+        adjacencyList.get(fromId).append(toId, weight);
+        if (incoming != null) {
+            incoming.get(toId).append(fromId, weight);
+        }
         edgeCount++;
     }
 
+    @Override
+    protected void replaceWeight(int fromId, int slot, int weight) {
+        EdgeList edges = adjacencyList.get(fromId);
+        edges.weights[slot] = weight;
+        if (incoming != null) {
+            incoming.get(edges.targets[slot]).put(fromId, weight);
+        }
+    }
+
     @Override
     public void removeVertex(V v) {
-        if (!adjacencyList.containsKey(v)) {
+        int id = idOf(v);
+        if (id < 0) {
             return;
         }
 
-        // Remove all outgoing edges
-        edgeCount -= adjacencyList.get(v).size();
-        adjacencyList.remove(v);
-
-        // Remove all incoming edges
-        Array<V> vertices = adjacencyList.keys();
-        for (int i = 0; i < vertices.size(); i++) {
-            V vertex = vertices.get(i);
-            Array<Edge<V>> edges = adjacencyList.get(vertex);
-            int initialSize = edges.size();
+        EdgeList outgoing = adjacencyList.get(id);
+        edgeCount -= outgoing.size();
 
-            for (int j = edges.size() - 1; j >= 0; j--) {
-                if (edges.get(j).target.equals(v)) {
-                    edges.remove(j);
+        if (incoming != null) {
+            // Remove incoming edges from the actual predecessors only
+            EdgeList predecessors = incoming.get(id);
+            for (int i = 0; i < predecessors.size(); i++) {
+                int u = predecessors.targets[i];
+                if (u != id && adjacencyList.get(u).remove(id)) {
+                    edgeCount--;
+                }
+            }
+            for (int i = 0; i < outgoing.size(); i++) {
+                int w = outgoing.targets[i];
+                if (w != id) {
+                    incoming.get(w).remove(id);
+                }
+            }
+            predecessors.clear();
+        } else {
+            // Remove all incoming edges
+            for (int u = 0; u < idBound(); u++) {
+                EdgeList edges = adjacencyList.get(u);
+                if (u != id && edges != null && edges.remove(id)) {
+                    edgeCount--;
                 }
             }
-            edgeCount -= (initialSize - edges.size());
         }
+
+        releaseId(id);
     }
 
     @Override
     public void removeEdge(V from, V to) {
-        if (adjacencyList.containsKey(from)) {
-            Array<Edge<V>> edges = adjacencyList.get(from);
-            int initialSize = edges.size();
-
-            for (int i = edges.size() - 1; i >= 0; i--) {
-                if (edges.get(i).target.equals(to)) {
-                    edges.remove(i);
-                }
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        // Вес нужен только слушателям
+        Integer weight = hasListeners() ? getEdgeWeight(from, to) : null;
+        if (fromId >= 0 && toId >= 0 && removeEdgeFromVertex(fromId, toId)) {
+            if (incoming != null) {
+                incoming.get(toId).remove(fromId);
+            }
+            edgeCount--;
+            if (weight != null) {
+                fireEdgeRemoved(fromId, toId, weight);
             }
-            edgeCount -= (initialSize - edges.size());
         }
     }
 
@@ -72,4 +162,112 @@ public class DirectedGraph<V> extends AbstractGraph<V> {
     public int getEdgeCount() {
         return edgeCount;
     }
-}
\ No newline at end of file
+
+    public int outDegree(V v) {
+        return adjacencyList.get(requireId(v)).size();
+    }
+
+    // Без индекса входящих рёбер каждый запрос просматривает все списки смежности за O(V + E)
+    public int inDegree(V v) {
+        return incomingOf(requireId(v)).size();
+    }
+
+    public Array<V> getPredecessors(V v) {
+        EdgeList edges = incomingOf(requireId(v));
+        Array<V> predecessors = new Array<>(Math.max(1, edges.size()));
+        for (int i = 0; i < edges.size(); i++) {
+            predecessors.add(vertexById.get(edges.targets[i]));
+        }
+        return predecessors;
+    }
+
+    public void forEachPredecessor(V v, NeighborConsumer<V> action) {
+        EdgeList edges = incomingOf(requireId(v));
+        for (int i = 0; i < edges.size(); i++) {
+            action.accept(vertexById.get(edges.targets[i]), edges.weights[i]);
+        }
+    }
+
+    public Components<V> stronglyConnectedComponents() {
+        return new Connectivity<>(snapshot()).stronglyConnectedComponents();
+    }
+
+    // Компоненты без учёта направления рёбер
+    public Components<V> weaklyConnectedComponents() {
+        return new Connectivity<>(snapshot()).connectedComponents();
+    }
+
+    // Порядок по Кану; для графа с циклом содержит найденный цикл
+    public TopologicalOrder<V> topologicalOrder() {
+        return snapshot().topologicalOrder();
+    }
+
+    // Самый тяжёлый путь ациклического графа; кратчайшие и длиннейшие пути из вершины - через DagPaths
+    public Path<V> criticalPath() {
+        return new DagPaths<>(snapshot()).criticalPath();
+    }
+
+    // Параметры, персонализация и повторный запуск от прошлых оценок - через PageRank
+    public Ranking<V> pageRank() {
+        return new PageRank<>(snapshot()).run();
+    }
+
+    // BFS по обратным рёбрам: все вершины, из которых достижима start
+    public String reverseBfsString(V start) {
+        int startId = idOf(start);
+        if (startId < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+        // Без индекса обратные списки строятся на один обход и не сохраняются
+        Array<EdgeList> reversed = incoming != null ? incoming : buildIncoming();
+
+        boolean[] visited = new boolean[idBound()];
+        IntQueue queue = new IntQueue();
+        visited[startId] = true;
+        queue.enqueue(startId);
+
+        StringBuilder result = new StringBuilder();
+        while (!queue.isEmpty()) {
+            int current = queue.dequeue();
+            result.append(vertexById.get(current)).append(" ");
+
+            EdgeList edges = reversed.get(current);
+            for (int i = 0; i < edges.size(); i++) {
+                int predecessor = edges.targets[i];
+                if (!visited[predecessor]) {
+                    visited[predecessor] = true;
+                    queue.enqueue(predecessor);
+                }
+            }
+        }
+        return result.toString().trim();
+    }
+
+    @Override
+    protected EdgeList incomingEdges(int id) {
+        return incomingOf(id);
+    }
+
+    private EdgeList incomingOf(int id) {
+        if (incoming != null) {
+            return incoming.get(id);
+        }
+        EdgeList edges = new EdgeList();
+        for (int u = 0; u < idBound(); u++) {
+            EdgeList outgoing = adjacencyList.get(u);
+            int slot = outgoing == null ? -1 : outgoing.indexOf(id);
+            if (slot >= 0) {
+                edges.append(u, outgoing.weights[slot]);
+            }
+        }
+        return edges;
+    }
+
+    private int requireId(V v) {
+        int id = idOf(v);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,64 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.ObjIntMap;
+
+// Матрица расстояний между наборами вершин в одном массиве int по строкам.
+// Недостижимые пары хранят ShortestPathResult.UNREACHABLE
+public class DistanceMatrix<V> {
+    private final Object[] sources;
+    private final Object[] targets;
+    private final ObjIntMap<V> rows;
+    private final ObjIntMap<V> columns;
+    private final int[] distances;
+
+    @SuppressWarnings("unchecked")
+    DistanceMatrix(Object[] sources, Object[] targets, int[] distances) {
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+        this.rows = new ObjIntMap<>(sources.length);
+        this.columns = new ObjIntMap<>(targets.length);
+        for (int i = 0; i < sources.length; i++) {
+            rows.put((V) sources[i], i);
+        }
+        for (int j = 0; j < targets.length; j++) {
+            columns.put((V) targets[j], j);
+        }
+    }
+
+    public int getRowCount() {
+        return sources.length;
+    }
+
+    public int getColumnCount() {
+        return targets.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getSource(int row) {
+        return (V) sources[row];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getTarget(int column) {
+        return (V) targets[column];
+    }
+
+    public int distance(V from, V to) {
+        int row = rows.getOrDefault(from, -1);
+        int column = columns.getOrDefault(to, -1);
+        if (row < 0 || column < 0) {
+            throw new RuntimeException("Pair " + from + " -> " + to + " is not in the matrix");
+        }
+        return get(row, column);
+    }
+
+    public int get(int row, int column) {
+        return distances[row * targets.length + column];
+    }
+
+    // Сам массив матрицы (без копирования): элемент (i, j) лежит по индексу i * getColumnCount() + j
+    public int[] getDistances() {
+        return distances;
+    }
+}
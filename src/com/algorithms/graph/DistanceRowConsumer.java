@@ -0,0 +1,8 @@
+package com.algorithms.graph;
+
+// Строка матрицы расстояний: row[j] - расстояние от source до j-й целевой вершины.
+// Массив переиспользуется и действителен только во время вызова
+@FunctionalInterface
+public interface DistanceRowConsumer<V> {
+    void accept(V source, int[] row);
+}
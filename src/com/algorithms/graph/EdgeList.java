@@ -0,0 +1,112 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.IntIntMap;
+
+// Исходящие рёбра одной вершины в параллельных массивах target/weight.
+// Пока степень мала, ребро ищется линейно; выше INDEX_THRESHOLD строится
+// индекс target -> позиция, и вставка, поиск и удаление становятся O(1)
+final class EdgeList {
+    static final int INDEX_THRESHOLD = 16;
+    private static final int INITIAL_CAPACITY = 4;
+
+    int[] targets;
+    int[] weights;
+    int size;
+    private IntIntMap index;
+
+    EdgeList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    EdgeList(int capacity) {
+        targets = new int[Math.max(1, capacity)];
+        weights = new int[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int indexOf(int target) {
+        if (index != null) {
+            return index.getOrDefault(target, -1);
+        }
+        for (int i = 0; i < size; i++) {
+            if (targets[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Вставляет ребро или обновляет вес существующего; true, если ребро новое
+    boolean put(int target, int weight) {
+        int slot = indexOf(target);
+        if (slot >= 0) {
+            weights[slot] = weight;
+            return false;
+        }
+        append(target, weight);
+        return true;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > targets.length) {
+            targets = java.util.Arrays.copyOf(targets, capacity);
+            weights = java.util.Arrays.copyOf(weights, capacity);
+        }
+    }
+
+    // Добавляет ребро без проверки на дубликат
+    void append(int target, int weight) {
+        if (size == targets.length) {
+            targets = java.util.Arrays.copyOf(targets, size * 2);
+            weights = java.util.Arrays.copyOf(weights, size * 2);
+        }
+        targets[size] = target;
+        weights[size] = weight;
+        if (index != null) {
+            index.put(target, size);
+        }
+        size++;
+        if (index == null && size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    // Удаление переносит последнее ребро на место удалённого, порядок рёбер не сохраняется
+    boolean remove(int target) {
+        int slot = indexOf(target);
+        if (slot < 0) {
+            return false;
+        }
+        int last = --size;
+        if (index != null) {
+            index.remove(target);
+        }
+        if (slot != last) {
+            targets[slot] = targets[last];
+            weights[slot] = weights[last];
+            if (index != null) {
+                index.put(targets[slot], slot);
+            }
+        }
+        if (index != null && size < INDEX_THRESHOLD / 2) {
+            index = null;
+        }
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+        index = null;
+    }
+
+    private void buildIndex() {
+        index = new IntIntMap(size * 2);
+        for (int i = 0; i < size; i++) {
+            index.put(targets[i], i);
+        }
+    }
+}
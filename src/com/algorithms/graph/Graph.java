@@ -8,6 +8,7 @@ public interface Graph<V> {
     void removeVertex(V v);
     void removeEdge(V from, V to);
     Array<V> getAdjacent(V v);
+    void forEachNeighbor(V v, NeighborConsumer<V> action);
     void dfs(V start);
     void bfs(V start);
     boolean containsVertex(V v);
@@ -15,9 +16,17 @@ public interface Graph<V> {
     int getEdgeCount();
     boolean isDirected();
     Array<V> getVertices();
+    Iterable<V> vertices();
     String dfsString(V start);
     String bfsString(V start);
+    Traversal<V> bfsTraversal(V start);
+    Traversal<V> dfsTraversal(V start);
     Integer getEdgeWeight(V from, V to);
     String dijkstra(V start);
     String bellmanFord(V start);
+    ShortestPathResult<V> dijkstraResult(V start);
+    ShortestPathResult<V> bellmanFordResult(V start);
+    Path<V> shortestPath(V from, V to);
+    Path<V> shortestPath(V from, V to, Heuristic<V> heuristic);
+    Array<Path<V>> kShortestPaths(V from, V to, int k);
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.*;
+
+// Пакетное построение графа: рёбра копятся в примитивных массивах,
+// а сортировка и удаление дубликатов выполняются один раз при загрузке в граф.
+// Повторное ребро, как и в addEdge, заменяет вес предыдущего
+public class GraphBuilder<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    // Разметка рёбер при загрузке; неотрицательное значение - позиция ребра в существующем списке
+    private static final int NEW = -1;
+    private static final int DUPLICATE = -2;
+
+    private final ObjIntMap<V> ids;
+    private Object[] vertices;
+    private int vertexCount;
+    private int[] from;
+    private int[] to;
+    private int[] weights;
+    private int edgeCount;
+
+    public GraphBuilder() {
+        this(INITIAL_CAPACITY, INITIAL_CAPACITY);
+    }
+
+    public GraphBuilder(int expectedVertices, int expectedEdges) {
+        this.ids = new ObjIntMap<>(expectedVertices);
+        this.vertices = new Object[Math.max(1, expectedVertices)];
+        this.from = new int[Math.max(1, expectedEdges)];
+        this.to = new int[Math.max(1, expectedEdges)];
+        this.weights = new int[Math.max(1, expectedEdges)];
+    }
+
+    // id вершины внутри сборщика; подходит для addEdges(int[], int[], int[])
+    public int vertexId(V v) {
+        if (v == null) {
+            throw new IllegalArgumentException("Vertex cannot be null");
+        }
+        int id = ids.getOrDefault(v, -1);
+        if (id < 0) {
+            if (vertexCount == vertices.length) {
+                vertices = java.util.Arrays.copyOf(vertices, vertexCount * 2);
+            }
+            id = vertexCount++;
+            vertices[id] = v;
+            ids.put(v, id);
+        }
+        return id;
+    }
+
+    public GraphBuilder<V> addVertex(V v) {
+        vertexId(v);
+        return this;
+    }
+
+    public GraphBuilder<V> addEdge(V from, V to, int weight) {
+        appendEdge(vertexId(from), vertexId(to), weight);
+        return this;
+    }
+
+    public GraphBuilder<V> addEdges(V[] from, V[] to, int[] weights) {
+        checkBatch(from.length, to.length, weights.length);
+        ensureEdgeCapacity(edgeCount + from.length);
+        for (int i = 0; i < from.length; i++) {
+            appendEdge(vertexId(from[i]), vertexId(to[i]), weights[i]);
+        }
+        return this;
+    }
+
+    // Рёбра по id, ранее выданным vertexId()
+    public GraphBuilder<V> addEdges(int[] from, int[] to, int[] weights) {
+        checkBatch(from.length, to.length, weights.length);
+        ensureEdgeCapacity(edgeCount + from.length);
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] < 0 || from[i] >= vertexCount || to[i] < 0 || to[i] >= vertexCount) {
+                throw new IllegalArgumentException("Unknown vertex id in edge " + i);
+            }
+            appendEdge(from[i], to[i], weights[i]);
+        }
+        return this;
+    }
+
+    // Потоковый пакет по id из vertexId(); expectedEdges - оценка размера для предвыделения
+    public GraphBuilder<V> addEdges(int expectedEdges, IntEdgeSource source) {
+        ensureEdgeCapacity(edgeCount + Math.max(0, expectedEdges));
+        source.forEachEdge((fromId, toId, weight) -> {
+            if (fromId < 0 || fromId >= vertexCount || toId < 0 || toId >= vertexCount) {
+                throw new IllegalArgumentException("Unknown vertex id in edge " + fromId + " -> " + toId);
+            }
+            appendEdge(fromId, toId, weight);
+        });
+        return this;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public DirectedGraph<V> buildDirected() {
+        DirectedGraph<V> graph = new DirectedGraph<>();
+        loadInto(graph);
+        return graph;
+    }
+
+    public UndirectedGraph<V> buildUndirected() {
+        UndirectedGraph<V> graph = new UndirectedGraph<>();
+        loadInto(graph);
+        return graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    void loadInto(AbstractGraph<V> graph) {
+        // В пустом графе сверять пакет с существующими списками не нужно
+        boolean empty = graph.getEdgeCount() == 0;
+        graph.ensureVertexCapacity(graph.getVertexCount() + vertexCount);
+        int[] graphIds = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            graphIds[i] = graph.internVertex((V) vertices[i]);
+        }
+
+        // В неориентированном графе (u, v) и (v, u) - одно ребро
+        int[] source = from;
+        int[] target = to;
+        if (!graph.isDirected()) {
+            source = new int[edgeCount];
+            target = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                source[i] = Math.min(from[i], to[i]);
+                target[i] = Math.max(from[i], to[i]);
+            }
+        }
+
+        // Устойчивая сортировка подсчётом по начальной вершине: O(V + E)
+        int[] start = new int[vertexCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            start[source[i] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] order = new int[edgeCount];
+        int[] cursor = java.util.Arrays.copyOf(start, vertexCount);
+        for (int i = 0; i < edgeCount; i++) {
+            order[cursor[source[i]]++] = i;
+        }
+
+        // Одна запись на пару: сортировка устойчива, поэтому в группе первое вхождение пары
+        // встречается раньше остальных и задаёт место ребра в списке, как первый addEdge.
+        // Каждое вхождение перезаписывает finalWeight первого, так что побеждает вес последнего.
+        // Существующие рёбра вершины отмечаются один раз на группу, и ребро пакета, которое уже
+        // есть в графе, сразу получает свою позицию в списке
+        int[] resolution = new int[edgeCount];
+        int[] finalWeight = new int[edgeCount];
+        int[] firstOf = new int[vertexCount];
+        java.util.Arrays.fill(firstOf, -1);
+        int[] existingSlot = empty ? null : new int[graph.idBound()];
+        int[] existingMark = empty ? null : new int[graph.idBound()];
+        int[] degree = new int[vertexCount];
+        for (int u = 0; u < vertexCount; u++) {
+            if (!empty) {
+                EdgeList existing = graph.adjacencyList.get(graphIds[u]);
+                for (int i = 0; i < existing.size(); i++) {
+                    existingSlot[existing.targets[i]] = i;
+                    existingMark[existing.targets[i]] = u + 1;
+                }
+            }
+            for (int k = start[u]; k < start[u + 1]; k++) {
+                int edge = order[k];
+                int v = target[edge];
+                if (firstOf[v] >= 0) {
+                    resolution[edge] = DUPLICATE;
+                } else {
+                    firstOf[v] = edge;
+                    if (!empty && existingMark[graphIds[v]] == u + 1) {
+                        resolution[edge] = existingSlot[graphIds[v]];
+                    } else {
+                        resolution[edge] = NEW;
+                        degree[u]++;
+                        if (!graph.isDirected() && v != u) {
+                            degree[v]++;
+                        }
+                    }
+                }
+                finalWeight[firstOf[v]] = weights[edge];
+            }
+            for (int k = start[u]; k < start[u + 1]; k++) {
+                firstOf[target[order[k]]] = -1;
+            }
+        }
+
+        for (int v = 0; v < vertexCount; v++) {
+            EdgeList edges = graph.adjacencyList.get(graphIds[v]);
+            edges.ensureCapacity(edges.size() + degree[v]);
+        }
+        // Новые рёбра добавляются в исходном порядке, поэтому списки смежности те же,
+        // что после последовательных addEdge; существующие меняют вес на месте
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int slot = resolution[edge];
+            if (slot == NEW) {
+                graph.appendEdge(graphIds[from[edge]], graphIds[to[edge]], finalWeight[edge]);
+            } else if (slot >= 0) {
+                graph.replaceWeight(graphIds[source[edge]], slot, finalWeight[edge]);
+            }
+        }
+        graph.modCount++;
+        graph.fireBulkChange();
+    }
+
+    private void appendEdge(int fromId, int toId, int weight) {
+        ensureEdgeCapacity(edgeCount + 1);
+        from[edgeCount] = fromId;
+        to[edgeCount] = toId;
+        weights[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    private void ensureEdgeCapacity(int capacity) {
+        if (capacity > from.length) {
+            int newCapacity = Math.max(capacity, from.length * 2);
+            from = java.util.Arrays.copyOf(from, newCapacity);
+            to = java.util.Arrays.copyOf(to, newCapacity);
+            weights = java.util.Arrays.copyOf(weights, newCapacity);
+        }
+    }
+
+    private void checkBatch(int fromLength, int toLength, int weightsLength) {
+        if (fromLength != toLength || fromLength != weightsLength) {
+            throw new IllegalArgumentException("Edge batch arrays must have the same length");
+        }
+    }
+}
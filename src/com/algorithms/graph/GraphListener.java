@@ -0,0 +1,26 @@
+package com.algorithms.graph;
+
+// Уведомления об изменениях AbstractGraph; вызываются синхронно, уже после изменения.
+// Для неориентированного графа ребро сообщается один раз, в порядке аргументов addEdge/removeEdge
+public interface GraphListener<V> {
+    default void vertexAdded(V vertex) {
+    }
+
+    // Вызывается, когда рёбра вершины уже удалены, а сама вершина ещё числится в графе
+    default void vertexRemoved(V vertex) {
+    }
+
+    default void edgeAdded(V from, V to, int weight) {
+    }
+
+    // addEdge для существующего ребра с другим весом
+    default void edgeWeightChanged(V from, V to, int oldWeight, int newWeight) {
+    }
+
+    default void edgeRemoved(V from, V to, int weight) {
+    }
+
+    // Пакетная загрузка через addEdges: отдельные рёбра не сообщаются
+    default void bulkChange() {
+    }
+}
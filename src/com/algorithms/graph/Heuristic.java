@@ -0,0 +1,8 @@
+package com.algorithms.graph;
+
+// Нижняя оценка расстояния от вершины до цели для A*.
+// Оценка не должна превышать настоящее расстояние, иначе найденный путь может быть не кратчайшим
+@FunctionalInterface
+public interface Heuristic<V> {
+    int estimate(V vertex, V target);
+}
@@ -0,0 +1,7 @@
+package com.algorithms.graph;
+
+// Приёмник ребра, заданного id вершин сборщика
+@FunctionalInterface
+public interface IntEdgeConsumer {
+    void accept(int from, int to, int weight);
+}
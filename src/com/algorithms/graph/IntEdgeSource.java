@@ -0,0 +1,7 @@
+package com.algorithms.graph;
+
+// Потоковый пакет рёбер для GraphBuilder: рёбра передаются по одному, без промежуточных массивов
+@FunctionalInterface
+public interface IntEdgeSource {
+    void forEachEdge(IntEdgeConsumer action);
+}
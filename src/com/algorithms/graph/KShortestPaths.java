@@ -0,0 +1,273 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+// k кратчайших простых путей по Йену. Каждый следующий путь - ответвление от уже найденного:
+// корень до вершины ответвления плюс кратчайший путь от неё до цели, который не проходит
+// через вершины корня и не повторяет ребро, уже использованное путями с тем же корнем.
+// Граф не копируется: вершины корня отмечаются номером поиска в рабочих массивах,
+// а запрещённые рёбра все выходят из вершины ответвления и проверяются только при её раскрытии.
+// Ответвления, как у Лоулера, перебираются только начиная с точки, где родился сам путь
+public class KShortestPaths<V> {
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Scratch> idleScratch = new ConcurrentLinkedQueue<>();
+
+    public KShortestPaths(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public KShortestPaths(CompactGraph<V> graph, ForkJoinPool pool) {
+        if (graph.hasNegativeWeights()) {
+            throw new IllegalStateException("Dijkstra does not support negative edge weights");
+        }
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    // Пути по возрастанию веса; меньше k, если простых путей меньше
+    public Array<Path<V>> find(V from, V to, int k) {
+        return find(from, to, k, false);
+    }
+
+    // То же, но поиски от разных вершин ответвления одного пути идут параллельно
+    public Array<Path<V>> findParallel(V from, V to, int k) {
+        return find(from, to, k, true);
+    }
+
+    private Array<Path<V>> find(V from, V to, int k, boolean parallel) {
+        int source = requireId(from, "Start vertex " + from + " not found");
+        int target = requireId(to, "Target vertex " + to + " not found");
+        Array<Path<V>> result = new Array<>();
+        if (k <= 0) {
+            return result;
+        }
+
+        Scratch scratch = acquire();
+        Route shortest = scratch.search(new int[]{source}, new int[0], 0, target, new int[0], 0);
+        idleScratch.add(scratch);
+        if (shortest == null) {
+            return result;
+        }
+
+        Array<Route> accepted = new Array<>();
+        Array<Route> candidates = new Array<>();
+        accepted.add(shortest);
+        while (accepted.size() < k) {
+            Route previous = accepted.get(accepted.size() - 1);
+            int spurs = previous.vertices.length - 1 - previous.deviation;
+            Route[] found = new Route[Math.max(0, spurs)];
+            if (parallel) {
+                Parallel.forRange(pool, 0, spurs, 1, (first, last) -> {
+                    Scratch local = acquire();
+                    for (int i = first; i < last; i++) {
+                        found[i] = spur(local, previous, previous.deviation + i, target, accepted);
+                    }
+                    idleScratch.add(local);
+                });
+            } else {
+                Scratch local = acquire();
+                for (int i = 0; i < spurs; i++) {
+                    found[i] = spur(local, previous, previous.deviation + i, target, accepted);
+                }
+                idleScratch.add(local);
+            }
+
+            // Порядок добавления не зависит от потоков: по возрастанию точки ответвления
+            for (Route route : found) {
+                if (route != null && !contains(candidates, route) && !contains(accepted, route)) {
+                    candidates.add(route);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            int best = 0;
+            for (int i = 1; i < candidates.size(); i++) {
+                if (candidates.get(i).weight < candidates.get(best).weight) {
+                    best = i;
+                }
+            }
+            accepted.add(candidates.remove(best));
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            result.add(toPath(accepted.get(i)));
+        }
+        return result;
+    }
+
+    // Ответвление от path в вершине с номером index; null, если пути нет
+    private Route spur(Scratch scratch, Route path, int index, int target, Array<Route> accepted) {
+        // Рёбра из вершины ответвления, по которым уже уходят найденные пути с тем же корнем
+        int[] blocked = new int[accepted.size()];
+        int blockedCount = 0;
+        for (int i = 0; i < accepted.size(); i++) {
+            Route other = accepted.get(i);
+            if (other.vertices.length > index + 1 && sameRoot(other, path, index)) {
+                blocked[blockedCount++] = other.edges[index];
+            }
+        }
+        int[] root = java.util.Arrays.copyOf(path.vertices, index + 1);
+        int[] rootEdges = java.util.Arrays.copyOf(path.edges, index);
+        long rootWeight = 0;
+        for (int edge : rootEdges) {
+            rootWeight += graph.weights[edge];
+        }
+        return scratch.search(root, rootEdges, rootWeight, target, java.util.Arrays.copyOf(blocked, blockedCount), index);
+    }
+
+    private static boolean sameRoot(Route a, Route b, int index) {
+        for (int i = 0; i <= index; i++) {
+            if (a.vertices[i] != b.vertices[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(Array<Route> routes, Route route) {
+        for (int i = 0; i < routes.size(); i++) {
+            Route other = routes.get(i);
+            if (other.weight == route.weight && java.util.Arrays.equals(other.vertices, route.vertices)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path<V> toPath(Route route) {
+        Array<V> vertices = new Array<>(route.vertices.length);
+        for (int v : route.vertices) {
+            vertices.add(graph.label(v));
+        }
+        return new Path<>(vertices, (int) route.weight, route.settled);
+    }
+
+    private Scratch acquire() {
+        Scratch scratch = idleScratch.poll();
+        return scratch != null ? scratch : new Scratch(graph.labels.length);
+    }
+
+    private int requireId(V v, String message) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException(message);
+        }
+        return id;
+    }
+
+    // Найденный путь: вершины, номера рёбер снимка, вес и точка ответвления
+    private static final class Route {
+        final int[] vertices;
+        final int[] edges;
+        final long weight;
+        final int deviation;
+        final int settled;
+
+        Route(int[] vertices, int[] edges, long weight, int deviation, int settled) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.weight = weight;
+            this.deviation = deviation;
+            this.settled = settled;
+        }
+    }
+
+    // Рабочие массивы Дейкстры одного потока; сбрасываются через номер поиска
+    private final class Scratch {
+        final long[] distances;
+        final int[] previous;
+        final int[] previousEdge;
+        final int[] seen;
+        final int[] masked;
+        final IndexedMinHeap heap;
+        int stamp;
+
+        Scratch(int n) {
+            distances = new long[n];
+            previous = new int[n];
+            previousEdge = new int[n];
+            seen = new int[n];
+            masked = new int[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        // Кратчайший путь от последней вершины root до target в обход остальных вершин root
+        // и рёбер blocked; результат - root + найденный путь
+        Route search(int[] root, int[] rootEdges, long rootWeight, int target, int[] blocked, int deviation) {
+            int rootLength = rootEdges.length;
+            int start = root[rootLength];
+            if (++stamp == Integer.MAX_VALUE) {
+                stamp = 1;
+                java.util.Arrays.fill(seen, 0);
+                java.util.Arrays.fill(masked, 0);
+            }
+            for (int i = 0; i < rootLength; i++) {
+                masked[root[i]] = stamp;
+            }
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            int[] weights = graph.weights;
+
+            heap.clear();
+            seen[start] = stamp;
+            distances[start] = 0;
+            heap.insert(start, 0);
+            int settled = 0;
+            boolean reached = false;
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                settled++;
+                if (u == target) {
+                    reached = true;
+                    break;
+                }
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (masked[v] == stamp || (u == start && isBlocked(blocked, i))) {
+                        continue;
+                    }
+                    long newDistance = distances[u] + weights[i];
+                    if (seen[v] != stamp || newDistance < distances[v]) {
+                        seen[v] = stamp;
+                        distances[v] = newDistance;
+                        previous[v] = u;
+                        previousEdge[v] = i;
+                        heap.insertOrDecrease(v, newDistance);
+                    }
+                }
+            }
+            if (!reached) {
+                return null;
+            }
+
+            // Число рёбер найденного отрезка: идём по предкам от цели
+            int hops = 0;
+            for (int v = target; v != start; v = previous[v]) {
+                hops++;
+            }
+            int[] vertices = java.util.Arrays.copyOf(root, rootLength + 1 + hops);
+            int[] edges = java.util.Arrays.copyOf(rootEdges, rootLength + hops);
+            int k = rootLength + hops;
+            for (int v = target; v != start; v = previous[v]) {
+                vertices[k] = v;
+                edges[--k] = previousEdge[v];
+            }
+            return new Route(vertices, edges, rootWeight + distances[target], deviation, settled);
+        }
+
+        private boolean isBlocked(int[] blocked, int edge) {
+            for (int b : blocked) {
+                if (b == edge) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
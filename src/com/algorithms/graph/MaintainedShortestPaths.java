@@ -0,0 +1,343 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+import com.algorithms.graph.structures.IntStack;
+
+// Кратчайшие пути из одной вершины, поддерживаемые при изменениях графа (в духе Рамалингама - Репса).
+// Новое ребро или уменьшение веса запускает Дейкстру только от улучшившейся вершины.
+// Удаление ребра дерева путей или увеличение его веса сбрасывает поддерево под ним: вершины
+// поддерева получают оценку по входящим рёбрам из остальной части графа, и Дейкстра идёт только
+// по ним. Изменения рёбер вне дерева путей ничего не пересчитывают. Веса должны быть неотрицательными
+public class MaintainedShortestPaths<V> implements GraphListener<V> {
+    private static final int UNREACHABLE = ShortestPathResult.UNREACHABLE;
+
+    private final AbstractGraph<V> graph;
+    private final V source;
+    private int sourceId;
+    private boolean attached;
+    // Сброшен, когда в графе появился отрицательный вес: трекер отписан, запросы бросают исключение
+    private boolean valid = true;
+
+    // Массивы индексируются id вершин графа и растут вместе с idBound()
+    private int[] distances;
+    private int[] previous;
+    // Дерево путей: дети каждой вершины в двусвязном списке
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] previousSibling;
+    private int[] subtree;
+    private IndexedMinHeap heap;
+    private final IntStack stack = new IntStack();
+
+    public MaintainedShortestPaths(AbstractGraph<V> graph, V source) {
+        if (graph.idOf(source) < 0) {
+            throw new RuntimeException("Start vertex " + source + " not found");
+        }
+        this.graph = graph;
+        this.source = source;
+        // Индекс входящих рёбер нужен для пересчёта поддерева; без него каждый запрос - полный просмотр
+        if (graph instanceof DirectedGraph) {
+            ((DirectedGraph<V>) graph).enableIncomingIndex();
+        }
+        recompute();
+        requireValid();
+        graph.addListener(this);
+        attached = true;
+    }
+
+    // После отписки результаты больше не обновляются
+    public void detach() {
+        if (attached) {
+            graph.removeListener(this);
+            attached = false;
+        }
+    }
+
+    public V getSource() {
+        return source;
+    }
+
+    public boolean isReachable(V target) {
+        return distanceTo(target) != UNREACHABLE;
+    }
+
+    public int distanceTo(V target) {
+        requireValid();
+        return distances[requireId(target)];
+    }
+
+    public V predecessorOf(V target) {
+        requireValid();
+        int id = previous[requireId(target)];
+        return id < 0 ? null : graph.vertexById.get(id);
+    }
+
+    // Пустой массив, если вершина недостижима
+    public Array<V> pathTo(V target) {
+        requireValid();
+        int id = requireId(target);
+        if (distances[id] == UNREACHABLE) {
+            return new Array<>();
+        }
+
+        int length = 0;
+        for (int v = id; v >= 0; v = previous[v]) {
+            length++;
+        }
+        int[] ids = new int[length];
+        int k = length;
+        for (int v = id; v >= 0; v = previous[v]) {
+            ids[--k] = v;
+        }
+
+        Array<V> path = new Array<>(length);
+        for (int i = 0; i < length; i++) {
+            path.add(graph.vertexById.get(ids[i]));
+        }
+        return path;
+    }
+
+    @Override
+    public void vertexAdded(V vertex) {
+        ensureCapacity(graph.idBound());
+        // Источник удалили и добавили снова
+        if (sourceId < 0 && vertex.equals(source)) {
+            sourceId = graph.idOf(vertex);
+            distances[sourceId] = 0;
+        }
+    }
+
+    @Override
+    public void vertexRemoved(V vertex) {
+        int id = graph.idOf(vertex);
+        if (id == sourceId) {
+            reset(graph.idBound());
+            sourceId = -1;
+            return;
+        }
+        repair(id, id);
+    }
+
+    @Override
+    public void edgeAdded(V from, V to, int weight) {
+        if (weight < 0) {
+            invalidate();
+            return;
+        }
+        int fromId = graph.idOf(from);
+        int toId = graph.idOf(to);
+        improve(fromId, toId, weight);
+        if (!graph.isDirected()) {
+            improve(toId, fromId, weight);
+        }
+    }
+
+    @Override
+    public void edgeWeightChanged(V from, V to, int oldWeight, int newWeight) {
+        if (newWeight < oldWeight) {
+            edgeAdded(from, to, newWeight);
+        } else {
+            edgeRemoved(from, to, oldWeight);
+        }
+    }
+
+    @Override
+    public void edgeRemoved(V from, V to, int weight) {
+        int fromId = graph.idOf(from);
+        int toId = graph.idOf(to);
+        if (previous[toId] == fromId) {
+            repair(toId, -1);
+        } else if (!graph.isDirected() && previous[fromId] == toId) {
+            repair(fromId, -1);
+        }
+    }
+
+    @Override
+    public void bulkChange() {
+        recompute();
+    }
+
+    // Дейкстра с нуля; при отрицательном весе трекер становится недействительным
+    private void recompute() {
+        reset(graph.idBound());
+        for (int u = 0; u < graph.idBound(); u++) {
+            EdgeList edges = graph.adjacencyList.get(u);
+            if (edges == null) {
+                continue;
+            }
+            for (int i = 0; i < edges.size; i++) {
+                if (edges.weights[i] < 0) {
+                    invalidate();
+                    return;
+                }
+            }
+        }
+
+        sourceId = graph.idOf(source);
+        if (sourceId >= 0) {
+            distances[sourceId] = 0;
+            heap.insert(sourceId, 0);
+            propagate();
+        }
+    }
+
+    // Ребро u -> v могло сократить путь до v
+    private void improve(int u, int v, int weight) {
+        if (distances[u] == UNREACHABLE) {
+            return;
+        }
+        long distance = (long) distances[u] + weight;
+        if (distance < distances[v]) {
+            distances[v] = (int) distance;
+            setParent(v, u);
+            heap.insert(v, distance);
+            propagate();
+        }
+    }
+
+    // Путь до root подорожал или исчез: поддерево root пересчитывается по входящим рёбрам.
+    // removed - удаляемая вершина, её устаревшие списки рёбер не читаются
+    private void repair(int root, int removed) {
+        if (distances[root] == UNREACHABLE) {
+            return;
+        }
+
+        int count = 0;
+        stack.clear();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            subtree[count++] = v;
+            for (int child = firstChild[v]; child >= 0; child = nextSibling[child]) {
+                stack.push(child);
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            distances[subtree[k]] = UNREACHABLE;
+            unlink(subtree[k]);
+        }
+
+        // Лучшее входящее ребро из вершин, чьи расстояния не изменились
+        for (int k = 0; k < count; k++) {
+            int v = subtree[k];
+            if (v == removed) {
+                continue;
+            }
+            EdgeList incoming = graph.incomingEdges(v);
+            long best = UNREACHABLE;
+            int bestPrevious = -1;
+            for (int i = 0; i < incoming.size; i++) {
+                int u = incoming.targets[i];
+                if (distances[u] == UNREACHABLE) {
+                    continue;
+                }
+                long candidate = (long) distances[u] + incoming.weights[i];
+                if (candidate < best) {
+                    best = candidate;
+                    bestPrevious = u;
+                }
+            }
+            if (bestPrevious >= 0) {
+                distances[v] = (int) best;
+                setParent(v, bestPrevious);
+                heap.insert(v, best);
+            }
+        }
+        propagate();
+    }
+
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            EdgeList edges = graph.adjacencyList.get(u);
+            for (int i = 0; i < edges.size; i++) {
+                int v = edges.targets[i];
+                long distance = (long) distances[u] + edges.weights[i];
+                if (distance < distances[v]) {
+                    distances[v] = (int) distance;
+                    setParent(v, u);
+                    heap.insertOrDecrease(v, distance);
+                }
+            }
+        }
+    }
+
+    private void setParent(int v, int parent) {
+        unlink(v);
+        previous[v] = parent;
+        nextSibling[v] = firstChild[parent];
+        if (firstChild[parent] >= 0) {
+            previousSibling[firstChild[parent]] = v;
+        }
+        firstChild[parent] = v;
+    }
+
+    private void unlink(int v) {
+        int parent = previous[v];
+        if (parent < 0) {
+            return;
+        }
+        if (previousSibling[v] >= 0) {
+            nextSibling[previousSibling[v]] = nextSibling[v];
+        } else {
+            firstChild[parent] = nextSibling[v];
+        }
+        if (nextSibling[v] >= 0) {
+            previousSibling[nextSibling[v]] = previousSibling[v];
+        }
+        previous[v] = -1;
+        nextSibling[v] = -1;
+        previousSibling[v] = -1;
+    }
+
+    private void reset(int capacity) {
+        distances = new int[0];
+        previous = new int[0];
+        firstChild = new int[0];
+        nextSibling = new int[0];
+        previousSibling = new int[0];
+        ensureCapacity(Math.max(1, capacity));
+    }
+
+    // Новые слоты недостижимы и не входят в дерево; куча между операциями пуста, её можно заменить
+    private void ensureCapacity(int capacity) {
+        if (capacity <= distances.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, distances.length * 2);
+        distances = grow(distances, newCapacity, UNREACHABLE);
+        previous = grow(previous, newCapacity, -1);
+        firstChild = grow(firstChild, newCapacity, -1);
+        nextSibling = grow(nextSibling, newCapacity, -1);
+        previousSibling = grow(previousSibling, newCapacity, -1);
+        subtree = new int[newCapacity];
+        heap = new IndexedMinHeap(newCapacity);
+    }
+
+    private static int[] grow(int[] array, int capacity, int fill) {
+        int[] grown = java.util.Arrays.copyOf(array, capacity);
+        java.util.Arrays.fill(grown, array.length, capacity, fill);
+        return grown;
+    }
+
+    // Вызывается из обработчиков событий: исключение там сорвало бы уже выполненное изменение графа
+    private void invalidate() {
+        valid = false;
+        detach();
+    }
+
+    private void requireValid() {
+        if (!valid) {
+            throw new IllegalStateException("Maintained shortest paths require non-negative weights");
+        }
+    }
+
+    private int requireId(V v) {
+        int id = graph.idOf(v);
+        if (id < 0 || id >= distances.length) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        return id;
+    }
+}
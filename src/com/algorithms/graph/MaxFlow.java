@@ -0,0 +1,300 @@
+package com.algorithms.graph;
+
+// Максимальный поток с весами рёбер в роли пропускных способностей. Остаточная сеть
+// хранится в примитивных массивах: дуги в формате CSR, у каждой дуги номер парной обратной.
+// Ребро ориентированного графа даёт дугу u -> v и обратную с нулевой ёмкостью,
+// ребро неориентированного - две встречные дуги с ёмкостью веса. Сеть строится один раз,
+// каждый запрос начинается с исходных ёмкостей, поэтому один объект обслуживает серию пар
+public class MaxFlow<V> {
+    private final CompactGraph<V> graph;
+    private final int[] arcStart;
+    private final int[] head;
+    private final int[] reverse;
+    private final long[] capacity;
+    private final long[] residual;
+
+    public MaxFlow(CompactGraph<V> graph) {
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+        boolean directed = graph.isDirected();
+
+        // Неориентированное ребро встречается в снимке дважды, пара дуг строится по копии u < v
+        int[] degree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (weights[i] < 0) {
+                    throw new IllegalStateException("Max flow requires non-negative capacities");
+                }
+                if (v != u && (directed || u < v)) {
+                    degree[u]++;
+                    degree[v]++;
+                }
+            }
+        }
+        this.graph = graph;
+        this.arcStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            arcStart[v + 1] = arcStart[v] + degree[v];
+        }
+        int arcs = arcStart[n];
+        this.head = new int[arcs];
+        this.reverse = new int[arcs];
+        this.capacity = new long[arcs];
+        this.residual = new long[arcs];
+
+        int[] cursor = java.util.Arrays.copyOf(arcStart, n);
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (v == u || (!directed && u > v)) {
+                    continue;
+                }
+                int forward = cursor[u]++;
+                int backward = cursor[v]++;
+                head[forward] = v;
+                head[backward] = u;
+                reverse[forward] = backward;
+                reverse[backward] = forward;
+                capacity[forward] = weights[i];
+                capacity[backward] = directed ? 0 : weights[i];
+            }
+        }
+    }
+
+    // Диниц: BFS строит слоистую сеть, блокирующий поток ищется DFS с явным стеком
+    // и указателем текущей дуги, поэтому тупиковые дуги не просматриваются повторно
+    public MinCut<V> dinic(V source, V sink) {
+        int s = requireId(source, "Source");
+        int t = requireId(sink, "Sink");
+        if (s == t) {
+            throw new IllegalArgumentException("Source and sink must be different vertices");
+        }
+        int n = graph.labels.length;
+        reset();
+
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        int[] current = new int[n];
+        int[] path = new int[n];
+        long flow = 0;
+        while (buildLevels(s, t, level, queue)) {
+            System.arraycopy(arcStart, 0, current, 0, n);
+            int depth = 0;
+            int u = s;
+            while (true) {
+                if (u == t) {
+                    long pushed = Long.MAX_VALUE;
+                    for (int k = 0; k < depth; k++) {
+                        pushed = Math.min(pushed, residual[path[k]]);
+                    }
+                    int firstSaturated = -1;
+                    for (int k = 0; k < depth; k++) {
+                        int arc = path[k];
+                        residual[arc] -= pushed;
+                        residual[reverse[arc]] += pushed;
+                        if (firstSaturated < 0 && residual[arc] == 0) {
+                            firstSaturated = k;
+                        }
+                    }
+                    flow += pushed;
+                    // Возврат к началу первой насыщенной дуги
+                    depth = firstSaturated;
+                    u = depth == 0 ? s : head[path[depth - 1]];
+                    continue;
+                }
+
+                int arc = current[u];
+                while (arc < arcStart[u + 1] && (residual[arc] == 0 || level[head[arc]] != level[u] + 1)) {
+                    arc++;
+                }
+                current[u] = arc;
+                if (arc < arcStart[u + 1]) {
+                    path[depth++] = arc;
+                    u = head[arc];
+                    continue;
+                }
+
+                // Тупик: вершина исключается из слоистой сети до следующего BFS
+                level[u] = -1;
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+                u = depth == 0 ? s : head[path[depth - 1]];
+                current[u]++;
+            }
+        }
+        return cut(t, flow, level, queue);
+    }
+
+    // Проталкивание предпотока с выбором активной вершины наибольшей высоты. Высоты периодически
+    // пересчитываются обратным BFS от стока (global relabel). Считается только первая фаза:
+    // вершины, из которых сток недостижим, получают высоту n и больше не обрабатываются,
+    // их избыток в величину потока не входит
+    public MinCut<V> pushRelabel(V source, V sink) {
+        int s = requireId(source, "Source");
+        int t = requireId(sink, "Sink");
+        if (s == t) {
+            throw new IllegalArgumentException("Source and sink must be different vertices");
+        }
+        int n = graph.labels.length;
+        reset();
+
+        int[] height = new int[n];
+        long[] excess = new long[n];
+        int[] current = new int[n];
+        int[] queue = new int[n];
+        // Активные вершины по высотам: однонаправленные списки
+        int[] bucket = new int[n];
+        int[] nextActive = new int[n];
+
+        for (int arc = arcStart[s]; arc < arcStart[s + 1]; arc++) {
+            long delta = residual[arc];
+            if (delta > 0) {
+                residual[arc] = 0;
+                residual[reverse[arc]] += delta;
+                excess[head[arc]] += delta;
+            }
+        }
+
+        int maxActive = globalRelabel(s, t, height, excess, current, queue, bucket, nextActive);
+        int relabels = 0;
+        while (maxActive >= 0) {
+            int v = bucket[maxActive];
+            if (v < 0) {
+                maxActive--;
+                continue;
+            }
+            bucket[maxActive] = nextActive[v];
+
+            // Разрядка: проталкивание по допустимым дугам, при их отсутствии - подъём
+            while (excess[v] > 0) {
+                int arc = current[v];
+                if (arc == arcStart[v + 1]) {
+                    int lowest = 2 * n;
+                    for (int a = arcStart[v]; a < arcStart[v + 1]; a++) {
+                        if (residual[a] > 0) {
+                            lowest = Math.min(lowest, height[head[a]] + 1);
+                        }
+                    }
+                    height[v] = Math.min(lowest, n);
+                    current[v] = arcStart[v];
+                    relabels++;
+                    if (height[v] >= n) {
+                        break;
+                    }
+                    continue;
+                }
+                int w = head[arc];
+                if (residual[arc] > 0 && height[v] == height[w] + 1) {
+                    long delta = Math.min(excess[v], residual[arc]);
+                    residual[arc] -= delta;
+                    residual[reverse[arc]] += delta;
+                    excess[v] -= delta;
+                    if (excess[w] == 0 && w != t && w != s) {
+                        nextActive[w] = bucket[height[w]];
+                        bucket[height[w]] = w;
+                        // После подъёма v может оказаться выше текущей наибольшей высоты
+                        maxActive = Math.max(maxActive, height[w]);
+                    }
+                    excess[w] += delta;
+                } else {
+                    current[v]++;
+                }
+            }
+
+            if (relabels >= n) {
+                relabels = 0;
+                maxActive = globalRelabel(s, t, height, excess, current, queue, bucket, nextActive);
+            }
+        }
+
+        // Высоты после последних подъёмов могут быть неточными, разрез считается заново
+        return cut(t, excess[t], height, queue);
+    }
+
+    // Точные расстояния до стока в остаточной сети; недостижимые вершины получают высоту n.
+    // Заново раскладывает активные вершины по корзинам, возвращает наибольшую занятую высоту
+    private int globalRelabel(int s, int t, int[] height, long[] excess, int[] current,
+                              int[] queue, int[] bucket, int[] nextActive) {
+        int n = height.length;
+        distancesToSink(t, height, queue);
+        int maxActive = -1;
+        java.util.Arrays.fill(bucket, -1);
+        for (int v = 0; v < n; v++) {
+            if (height[v] < 0) {
+                height[v] = n;
+            }
+            current[v] = arcStart[v];
+            if (v != s && v != t && excess[v] > 0 && height[v] < n) {
+                nextActive[v] = bucket[height[v]];
+                bucket[height[v]] = v;
+                maxActive = Math.max(maxActive, height[v]);
+            }
+        }
+        height[s] = n;
+        return maxActive;
+    }
+
+    // Обратный BFS от t по дугам с остаточной ёмкостью; -1 для вершин, из которых t недостижим
+    private void distancesToSink(int t, int[] distance, int[] queue) {
+        java.util.Arrays.fill(distance, -1);
+        distance[t] = 0;
+        queue[0] = t;
+        int tail = 1;
+        for (int headIndex = 0; headIndex < tail; headIndex++) {
+            int w = queue[headIndex];
+            for (int arc = arcStart[w]; arc < arcStart[w + 1]; arc++) {
+                int v = head[arc];
+                // Дуга v -> w - парная к w -> v
+                if (distance[v] < 0 && residual[reverse[arc]] > 0) {
+                    distance[v] = distance[w] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    // BFS от истока по дугам с остаточной ёмкостью; false, если сток недостижим
+    private boolean buildLevels(int s, int t, int[] level, int[] queue) {
+        java.util.Arrays.fill(level, -1);
+        level[s] = 0;
+        queue[0] = s;
+        int tail = 1;
+        for (int headIndex = 0; headIndex < tail; headIndex++) {
+            int u = queue[headIndex];
+            for (int arc = arcStart[u]; arc < arcStart[u + 1]; arc++) {
+                int v = head[arc];
+                if (level[v] < 0 && residual[arc] > 0) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return level[t] >= 0;
+    }
+
+    private MinCut<V> cut(int t, long flow, int[] scratch, int[] queue) {
+        distancesToSink(t, scratch, queue);
+        boolean[] sourceSide = new boolean[scratch.length];
+        for (int v = 0; v < scratch.length; v++) {
+            sourceSide[v] = scratch[v] < 0;
+        }
+        return new MinCut<>(graph, flow, sourceSide);
+    }
+
+    private void reset() {
+        System.arraycopy(capacity, 0, residual, 0, capacity.length);
+    }
+
+    private int requireId(V v, String role) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException(role + " vertex " + v + " not found");
+        }
+        return id;
+    }
+}
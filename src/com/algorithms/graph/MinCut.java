@@ -0,0 +1,99 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Максимальный поток и минимальный разрез. Сторона истока - вершины, из которых сток
+// недостижим в остаточной сети; рёбра разреза - рёбра графа со стороны истока на сторону стока
+public class MinCut<V> {
+    private final CompactGraph<V> graph;
+    private final long flow;
+    private final boolean[] sourceSide;
+    private final int[] cutFrom;
+    private final int[] cutTo;
+    private final int[] cutCapacities;
+
+    MinCut(CompactGraph<V> graph, long flow, boolean[] sourceSide) {
+        this.graph = graph;
+        this.flow = flow;
+        this.sourceSide = sourceSide;
+
+        int count = 0;
+        for (int u = 0; u < sourceSide.length; u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                if (crosses(u, i)) {
+                    count++;
+                }
+            }
+        }
+        cutFrom = new int[count];
+        cutTo = new int[count];
+        cutCapacities = new int[count];
+        int k = 0;
+        for (int u = 0; u < sourceSide.length; u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                if (crosses(u, i)) {
+                    cutFrom[k] = u;
+                    cutTo[k] = graph.targets[i];
+                    cutCapacities[k] = graph.weights[i];
+                    k++;
+                }
+            }
+        }
+    }
+
+    private boolean crosses(int u, int edge) {
+        return sourceSide[u] && !sourceSide[graph.targets[edge]] && graph.weights[edge] > 0;
+    }
+
+    // Равен суммарной пропускной способности рёбер разреза
+    public long getFlow() {
+        return flow;
+    }
+
+    public boolean isOnSourceSide(V vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + vertex + " not found");
+        }
+        return sourceSide[id];
+    }
+
+    public Array<V> getSourceSide() {
+        return side(true);
+    }
+
+    public Array<V> getSinkSide() {
+        return side(false);
+    }
+
+    public int getCutEdgeCount() {
+        return cutFrom.length;
+    }
+
+    public V getCutFrom(int edge) {
+        return graph.label(cutFrom[edge]);
+    }
+
+    public V getCutTo(int edge) {
+        return graph.label(cutTo[edge]);
+    }
+
+    public int getCutCapacity(int edge) {
+        return cutCapacities[edge];
+    }
+
+    private Array<V> side(boolean source) {
+        Array<V> vertices = new Array<>();
+        for (int v = 0; v < sourceSide.length; v++) {
+            if (sourceSide[v] == source) {
+                vertices.add(graph.label(v));
+            }
+        }
+        return vertices;
+    }
+
+    @Override
+    public String toString() {
+        return "поток " + flow + ", рёбер в разрезе " + cutFrom.length;
+    }
+}
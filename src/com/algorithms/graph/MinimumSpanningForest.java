@@ -0,0 +1,218 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.ConcurrentUnionFind;
+import com.algorithms.graph.structures.UnionFind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Минимальный остовный лес неориентированного снимка. Каждое ребро берётся один раз (u < v),
+// петли отбрасываются. Ключ ребра weight << 32 | номер задаёт строгий порядок рёбер,
+// поэтому минимальный лес единственен и Краскал с Борувкой выбирают одни и те же рёбра
+public class MinimumSpanningForest<V> {
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weights;
+
+    public MinimumSpanningForest(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public MinimumSpanningForest(CompactGraph<V> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Minimum spanning forest requires an undirected graph");
+        }
+        this.graph = graph;
+        this.pool = pool;
+
+        // Снимок хранит ребро в списках обоих концов; берётся копия из списка меньшего
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] start = new int[n + 1];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                int count = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (targets[i] > u) {
+                        count++;
+                    }
+                }
+                start[u + 1] = count;
+            }
+        });
+        for (int u = 0; u < n; u++) {
+            start[u + 1] += start[u];
+        }
+
+        this.from = new int[start[n]];
+        this.to = new int[start[n]];
+        this.weights = new int[start[n]];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                int k = start[u];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (targets[i] > u) {
+                        from[k] = u;
+                        to[k] = targets[i];
+                        weights[k] = graph.weights[i];
+                        k++;
+                    }
+                }
+            }
+        });
+    }
+
+    // Краскал: ключи рёбер сортируются параллельно, затем один последовательный проход с UnionFind.
+    // Рёбра результата идут по возрастанию веса
+    public SpanningForest<V> kruskal() {
+        int n = graph.labels.length;
+        int m = from.length;
+        long[] keys = new long[m];
+        Parallel.forRange(pool, 0, m, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int e = first; e < last; e++) {
+                keys[e] = key(e);
+            }
+        });
+        // Запуск внутри pool, чтобы сортировка шла на его потоках, а не на общем пуле
+        pool.invoke(ForkJoinTask.adapt(() -> java.util.Arrays.parallelSort(keys)));
+
+        UnionFind sets = new UnionFind(n);
+        int[] chosen = new int[Math.max(0, n - 1)];
+        int count = 0;
+        // Остовное дерево связного графа набирается раньше, чем кончаются рёбра
+        for (int k = 0; k < m && count < n - 1; k++) {
+            int e = (int) keys[k];
+            if (sets.union(from[e], to[e])) {
+                chosen[count++] = e;
+            }
+        }
+        return forest(chosen, count);
+    }
+
+    // Борувка: на каждом раунде все компоненты параллельно выбирают самое лёгкое выходящее ребро
+    // (CAS-минимум по корню в ConcurrentUnionFind), и выбранные рёбра сливают компоненты.
+    // Число компонент за раунд падает минимум вдвое, рёбра внутри компонент выбрасываются
+    public SpanningForest<V> boruvka() {
+        int n = graph.labels.length;
+        int m = from.length;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int v = first; v < last; v++) {
+                cheapest.set(v, NONE);
+            }
+        });
+        boolean[] chosen = new boolean[m];
+
+        int[] active = new int[m];
+        for (int e = 0; e < m; e++) {
+            active[e] = e;
+        }
+        while (active.length > 0) {
+            int[] edges = active;
+            // Внутренние рёбра помечаются -1 и удаляются после раунда
+            Parallel.forRange(pool, 0, edges.length, Parallel.DEFAULT_GRAIN, (first, last) -> {
+                for (int k = first; k < last; k++) {
+                    int e = edges[k];
+                    int rootFrom = sets.find(from[e]);
+                    int rootTo = sets.find(to[e]);
+                    if (rootFrom == rootTo) {
+                        edges[k] = -1;
+                        continue;
+                    }
+                    long key = key(e);
+                    lower(cheapest, rootFrom, key);
+                    lower(cheapest, rootTo, key);
+                }
+            });
+
+            // Две компоненты могут выбрать одно ребро: union пройдёт только у одной
+            Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+                for (int v = first; v < last; v++) {
+                    long key = cheapest.get(v);
+                    if (key == NONE) {
+                        continue;
+                    }
+                    cheapest.set(v, NONE);
+                    int e = (int) key;
+                    if (sets.union(from[e], to[e])) {
+                        chosen[e] = true;
+                    }
+                }
+            });
+            active = compact(edges);
+        }
+
+        int[] selected = new int[Math.max(0, n - 1)];
+        int count = 0;
+        for (int e = 0; e < m; e++) {
+            if (chosen[e]) {
+                selected[count++] = e;
+            }
+        }
+        return forest(selected, count);
+    }
+
+    private long key(int edge) {
+        return (long) weights[edge] << 32 | edge;
+    }
+
+    private static void lower(AtomicLongArray cheapest, int v, long key) {
+        long current = cheapest.get(v);
+        while (key < current && !cheapest.compareAndSet(v, current, key)) {
+            current = cheapest.get(v);
+        }
+    }
+
+    // Параллельное удаление помеченных -1: подсчёт по кускам, префиксные суммы, запись
+    private int[] compact(int[] edges) {
+        int grain = Parallel.DEFAULT_GRAIN;
+        int chunks = Parallel.chunks(edges.length, grain);
+        int[] start = new int[chunks + 1];
+        Parallel.forRange(pool, 0, chunks, 1, (first, last) -> {
+            for (int c = first; c < last; c++) {
+                int count = 0;
+                for (int k = c * grain; k < Math.min(edges.length, (c + 1) * grain); k++) {
+                    if (edges[k] >= 0) {
+                        count++;
+                    }
+                }
+                start[c + 1] = count;
+            }
+        });
+        for (int c = 0; c < chunks; c++) {
+            start[c + 1] += start[c];
+        }
+
+        int[] compacted = new int[start[chunks]];
+        Parallel.forRange(pool, 0, chunks, 1, (first, last) -> {
+            for (int c = first; c < last; c++) {
+                int position = start[c];
+                for (int k = c * grain; k < Math.min(edges.length, (c + 1) * grain); k++) {
+                    if (edges[k] >= 0) {
+                        compacted[position++] = edges[k];
+                    }
+                }
+            }
+        });
+        return compacted;
+    }
+
+    private SpanningForest<V> forest(int[] edges, int count) {
+        int[] forestFrom = new int[count];
+        int[] forestTo = new int[count];
+        int[] forestWeights = new int[count];
+        for (int k = 0; k < count; k++) {
+            forestFrom[k] = from[edges[k]];
+            forestTo[k] = to[edges[k]];
+            forestWeights[k] = weights[edges[k]];
+        }
+        return new SpanningForest<>(graph, forestFrom, forestTo, forestWeights);
+    }
+}
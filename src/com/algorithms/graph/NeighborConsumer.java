@@ -0,0 +1,7 @@
+package com.algorithms.graph;
+
+// Обработчик ребра при обходе соседей без копирования списка смежности
+@FunctionalInterface
+public interface NeighborConsumer<V> {
+    void accept(V target, int weight);
+}
@@ -0,0 +1,185 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+import java.util.concurrent.ForkJoinPool;
+
+// PageRank и персонализированный PageRank степенным методом на снимке. Итерация "вытягивает"
+// вклады по входящим рёбрам транспонированного снимка: каждая вершина пишет только свою оценку,
+// поэтому строки делятся между потоками без синхронизации. Веса рёбер не учитываются.
+// Масса висячих вершин (без исходящих рёбер) на каждой итерации распределяется
+// по вектору телепортации, так что сумма оценок остаётся равной 1
+public class PageRank<V> {
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    private double damping = 0.85;
+    private double tolerance = 1e-6;
+    private int maxIterations = 100;
+    // Вектор телепортации; null - равномерный
+    private double[] teleport;
+
+    public PageRank(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public PageRank(CompactGraph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public PageRank<V> damping(double damping) {
+        if (damping < 0 || damping >= 1) {
+            throw new IllegalArgumentException("Damping must be in [0, 1)");
+        }
+        this.damping = damping;
+        return this;
+    }
+
+    // Итерации прекращаются, когда L1-норма изменения оценок не больше tolerance
+    public PageRank<V> tolerance(double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must be non-negative");
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    public PageRank<V> maxIterations(int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Max iterations must be positive");
+        }
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    // Телепортация только в заданные вершины, поровну между ними
+    public PageRank<V> personalized(Array<V> seeds) {
+        if (seeds.isEmpty()) {
+            throw new IllegalArgumentException("Personalization needs at least one vertex");
+        }
+        double[] vector = new double[graph.labels.length];
+        for (int i = 0; i < seeds.size(); i++) {
+            int id = graph.idOf(seeds.get(i));
+            if (id < 0) {
+                throw new RuntimeException("Vertex " + seeds.get(i) + " not found");
+            }
+            vector[id] = 1;
+        }
+        normalize(vector);
+        this.teleport = vector;
+        return this;
+    }
+
+    public Ranking<V> run() {
+        return iterate(teleportVector().clone());
+    }
+
+    // Старт с оценок предыдущего запуска, в том числе на более старом снимке:
+    // оценки переносятся по вершинам, новые вершины начинают с нуля
+    public Ranking<V> run(Ranking<V> previous) {
+        int n = graph.labels.length;
+        double[] initial = new double[n];
+        for (int v = 0; v < n; v++) {
+            initial[v] = previous.scoreOrZero(graph.label(v));
+        }
+        if (!normalize(initial)) {
+            return run();
+        }
+        return iterate(initial);
+    }
+
+    private Ranking<V> iterate(double[] initial) {
+        int n = graph.labels.length;
+        if (n == 0) {
+            return new Ranking<>(graph, initial, 0, 0, true);
+        }
+        CompactGraph<V> incoming = graph.transpose();
+        int[] inOffsets = incoming.offsets;
+        int[] inSources = incoming.targets;
+        int[] outOffsets = graph.offsets;
+        double[] jump = teleportVector();
+
+        int grain = Parallel.DEFAULT_GRAIN;
+        int chunks = Parallel.chunks(n, grain);
+        // Частичные суммы по кускам складываются в фиксированном порядке - результат не зависит от числа потоков
+        double[] partial = new double[chunks];
+
+        double[] scores = initial;
+        double[] next = new double[n];
+        double[] share = new double[n];
+        double error = Double.MAX_VALUE;
+        int iteration = 0;
+        while (iteration < maxIterations && error > tolerance) {
+            double[] current = scores;
+            double[] updated = next;
+            Parallel.forRange(pool, 0, chunks, 1, (first, last) -> {
+                for (int c = first; c < last; c++) {
+                    double dangling = 0;
+                    for (int u = c * grain; u < Math.min(n, (c + 1) * grain); u++) {
+                        int degree = outOffsets[u + 1] - outOffsets[u];
+                        if (degree == 0) {
+                            dangling += current[u];
+                            share[u] = 0;
+                        } else {
+                            share[u] = current[u] / degree;
+                        }
+                    }
+                    partial[c] = dangling;
+                }
+            });
+            double danglingMass = sum(partial);
+
+            double base = damping * danglingMass + (1 - damping);
+            Parallel.forRange(pool, 0, chunks, 1, (first, last) -> {
+                for (int c = first; c < last; c++) {
+                    double change = 0;
+                    for (int v = c * grain; v < Math.min(n, (c + 1) * grain); v++) {
+                        double pulled = 0;
+                        for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                            pulled += share[inSources[i]];
+                        }
+                        updated[v] = damping * pulled + base * jump[v];
+                        change += Math.abs(updated[v] - current[v]);
+                    }
+                    partial[c] = change;
+                }
+            });
+            error = sum(partial);
+
+            scores = updated;
+            next = current;
+            iteration++;
+        }
+        return new Ranking<>(graph, scores, iteration, error, error <= tolerance);
+    }
+
+    private double[] teleportVector() {
+        if (teleport != null) {
+            return teleport;
+        }
+        double[] uniform = new double[graph.labels.length];
+        java.util.Arrays.fill(uniform, 1.0 / Math.max(1, uniform.length));
+        teleport = uniform;
+        return uniform;
+    }
+
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    // false, если сумма нулевая и нормировать нечего
+    private static boolean normalize(double[] vector) {
+        double total = sum(vector);
+        if (total <= 0) {
+            return false;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] /= total;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Разбиение диапазона индексов на задачи ForkJoin для параллельных алгоритмов
+final class Parallel {
+    static final int DEFAULT_GRAIN = 1024;
+
+    private Parallel() {
+    }
+
+    interface RangeTask {
+        void run(int start, int end);
+    }
+
+    static void forRange(ForkJoinPool pool, int start, int end, int grain, RangeTask task) {
+        if (end - start <= grain || pool.getParallelism() == 1) {
+            if (start < end) {
+                task.run(start, end);
+            }
+            return;
+        }
+        pool.invoke(new RangeAction(start, end, Math.max(1, grain), task));
+    }
+
+    // Число кусков размера grain, покрывающих count элементов
+    static int chunks(int count, int grain) {
+        return (count + grain - 1) / grain;
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final int grain;
+        private final RangeTask task;
+
+        RangeAction(int start, int end, int grain, RangeTask task) {
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                task.run(start, end);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new RangeAction(start, middle, grain, task),
+                    new RangeAction(middle, end, grain, task));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Параллельный BFS по уровням с переключением направления (top-down / bottom-up, Beamer et al.).
+// Посещённые вершины отмечаются в атомарной битовой карте, каждый уровень обрабатывается в ForkJoinPool
+public class ParallelBfs<V> {
+    // Пороги переключения направления из статьи Beamer, Asanović, Patterson
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+
+    public ParallelBfs(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBfs(CompactGraph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public BfsResult<V> run(V start) {
+        int source = graph.idOf(start);
+        if (source < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] levels = new int[n];
+        int[] parents = new int[n];
+        java.util.Arrays.fill(levels, BfsResult.UNREACHED);
+        java.util.Arrays.fill(parents, -1);
+
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        long[] frontierBits = null;
+        tryVisit(visited, source);
+        levels[source] = 0;
+
+        int[] frontier = {source};
+        int frontierSize = 1;
+        long frontierEdges = offsets[source + 1] - offsets[source];
+        long unexploredEdges = graph.targets.length - frontierEdges;
+        boolean bottomUp = false;
+        int reached = 1;
+        int depth = 0;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            Chunk[] next;
+            if (bottomUp) {
+                if (frontierBits == null) {
+                    frontierBits = new long[(n + 63) >>> 6];
+                } else {
+                    java.util.Arrays.fill(frontierBits, 0L);
+                }
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                }
+                next = bottomUpStep(frontierBits, visited, levels, parents, depth + 1);
+            } else {
+                next = topDownStep(frontier, frontierSize, visited, levels, parents, depth + 1);
+            }
+
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (Chunk chunk : next) {
+                frontierSize += chunk.size;
+                frontierEdges += chunk.edges;
+            }
+            frontier = new int[frontierSize];
+            int k = 0;
+            for (Chunk chunk : next) {
+                System.arraycopy(chunk.items, 0, frontier, k, chunk.size);
+                k += chunk.size;
+            }
+
+            unexploredEdges -= frontierEdges;
+            reached += frontierSize;
+            if (frontierSize > 0) {
+                depth++;
+            }
+        }
+
+        return new BfsResult<>(graph, source, levels, parents, reached, depth);
+    }
+
+    // Вершины фронта просматривают исходящие рёбра и захватывают непосещённых соседей
+    private Chunk[] topDownStep(int[] frontier, int frontierSize, AtomicLongArray visited,
+                                int[] levels, int[] parents, int level) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int grain = Parallel.DEFAULT_GRAIN;
+        Chunk[] chunks = new Chunk[Parallel.chunks(frontierSize, grain)];
+
+        Parallel.forRange(pool, 0, chunks.length, 1, (first, last) -> {
+            for (int c = first; c < last; c++) {
+                Chunk chunk = new Chunk();
+                int end = Math.min(frontierSize, (c + 1) * grain);
+                for (int k = c * grain; k < end; k++) {
+                    int u = frontier[k];
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int v = targets[i];
+                        if (tryVisit(visited, v)) {
+                            parents[v] = u;
+                            levels[v] = level;
+                            chunk.add(v, offsets[v + 1] - offsets[v]);
+                        }
+                    }
+                }
+                chunks[c] = chunk;
+            }
+        });
+        return chunks;
+    }
+
+    // Непосещённые вершины ищут родителя среди входящих рёбер; фронт задан битовой картой
+    private Chunk[] bottomUpStep(long[] frontierBits, AtomicLongArray visited,
+                                 int[] levels, int[] parents, int level) {
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        CompactGraph<V> incoming = graph.transpose();
+        int[] inOffsets = incoming.offsets;
+        int[] inSources = incoming.targets;
+        int grain = Parallel.DEFAULT_GRAIN * 4;
+        Chunk[] chunks = new Chunk[Parallel.chunks(n, grain)];
+
+        Parallel.forRange(pool, 0, chunks.length, 1, (first, last) -> {
+            for (int c = first; c < last; c++) {
+                Chunk chunk = new Chunk();
+                int end = Math.min(n, (c + 1) * grain);
+                for (int v = c * grain; v < end; v++) {
+                    if ((visited.get(v >>> 6) & (1L << v)) != 0) {
+                        continue;
+                    }
+                    for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                        int u = inSources[i];
+                        if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                            tryVisit(visited, v);
+                            parents[v] = u;
+                            levels[v] = level;
+                            chunk.add(v, offsets[v + 1] - offsets[v]);
+                            break;
+                        }
+                    }
+                }
+                chunks[c] = chunk;
+            }
+        });
+        return chunks;
+    }
+
+    private static boolean tryVisit(AtomicLongArray visited, int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        while (true) {
+            long current = visited.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    // Вершины следующего фронта, найденные одной задачей
+    private static final class Chunk {
+        int[] items = new int[16];
+        int size;
+        long edges;
+
+        void add(int v, int degree) {
+            if (size == items.length) {
+                items = java.util.Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = v;
+            edges += degree;
+        }
+    }
+}
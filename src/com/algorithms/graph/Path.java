@@ -0,0 +1,39 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Кратчайший путь между двумя вершинами; settledCount - сколько вершин просмотрел поиск
+public class Path<V> {
+    private final Array<V> vertices;
+    private final int weight;
+    private final int settledCount;
+
+    Path(Array<V> vertices, int weight, int settledCount) {
+        this.vertices = vertices;
+        this.weight = weight;
+        this.settledCount = settledCount;
+    }
+
+    public boolean isFound() {
+        return vertices.size() > 0;
+    }
+
+    // Пустой массив, если цель недостижима
+    public Array<V> getVertices() {
+        return vertices;
+    }
+
+    // ShortestPathResult.UNREACHABLE, если цель недостижима
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String toString() {
+        return isFound() ? vertices + " (вес " + weight + ")" : "путь не найден";
+    }
+}
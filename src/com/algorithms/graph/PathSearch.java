@@ -0,0 +1,222 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+
+// Поиск кратчайшего пути между двумя вершинами: двунаправленный Дейкстра и A*.
+// Массивы переиспользуются между запросами и сбрасываются через номер запроса,
+// поэтому запрос стоит пропорционально числу просмотренных вершин, а не размеру графа.
+// Экземпляр не потокобезопасен: на каждый поток нужен свой
+public class PathSearch<V> {
+    private final CompactGraph<V> graph;
+    private final Side forward;
+    private Side backward;
+    private int[] estimates;
+    private int[] estimateStamp;
+    private int stamp;
+    private int settled;
+
+    public PathSearch(CompactGraph<V> graph) {
+        if (graph.hasNegativeWeights()) {
+            throw new IllegalStateException("Point-to-point search does not support negative edge weights");
+        }
+        this.graph = graph;
+        this.forward = new Side(graph);
+    }
+
+    // Поиски от начала и от конца (по обратным рёбрам) идут навстречу друг другу
+    // и останавливаются, когда сумма минимумов в кучах не меньше лучшего найденного пути
+    public Path<V> bidirectional(V from, V to) {
+        int source = requireId(from, "Start vertex " + from + " not found");
+        int target = requireId(to, "Target vertex " + to + " not found");
+        nextQuery();
+        if (source == target) {
+            return single(source);
+        }
+
+        Side f = forward;
+        Side b = backward();
+        f.open(source, 0, stamp);
+        b.open(target, 0, stamp);
+
+        long best = Long.MAX_VALUE;
+        int meet = -1;
+        while (!f.heap.isEmpty() && !b.heap.isEmpty()) {
+            long topForward = f.heap.keyOf(f.heap.peekMin());
+            long topBackward = b.heap.keyOf(b.heap.peekMin());
+            if (topForward + topBackward >= best) {
+                break;
+            }
+
+            Side side = topForward <= topBackward ? f : b;
+            Side other = side == f ? b : f;
+            int u = side.heap.pollMin();
+            settled++;
+
+            for (int i = side.offsets[u]; i < side.offsets[u + 1]; i++) {
+                int v = side.targets[i];
+                side.relax(u, v, (long) side.distances[u] + side.weights[i], stamp);
+                if (other.seen[v] == stamp) {
+                    long total = (long) side.distances[v] + other.distances[v];
+                    if (total < best) {
+                        best = total;
+                        meet = v;
+                    }
+                }
+            }
+        }
+
+        if (meet < 0) {
+            return notFound();
+        }
+
+        // Предок в обратном поиске - следующая вершина на пути к цели
+        Array<V> path = forwardPath(meet);
+        for (int v = b.previous[meet]; v >= 0; v = b.previous[v]) {
+            path.add(graph.label(v));
+        }
+        return new Path<>(path, (int) best, settled);
+    }
+
+    // A*: ключ вершины - расстояние от начала плюс оценка до цели.
+    // При несогласованной (но допустимой) оценке вершина может открываться повторно
+    public Path<V> aStar(V from, V to, Heuristic<V> heuristic) {
+        int source = requireId(from, "Start vertex " + from + " not found");
+        int target = requireId(to, "Target vertex " + to + " not found");
+        nextQuery();
+        if (estimates == null) {
+            estimates = new int[graph.labels.length];
+            estimateStamp = new int[graph.labels.length];
+        }
+
+        Side f = forward;
+        f.open(source, estimate(source, target, heuristic), stamp);
+
+        while (!f.heap.isEmpty()) {
+            int u = f.heap.pollMin();
+            settled++;
+            if (u == target) {
+                return new Path<>(forwardPath(target), f.distances[target], settled);
+            }
+            for (int i = f.offsets[u]; i < f.offsets[u + 1]; i++) {
+                int v = f.targets[i];
+                long newDistance = (long) f.distances[u] + f.weights[i];
+                if (f.seen[v] != stamp || newDistance < f.distances[v]) {
+                    f.seen[v] = stamp;
+                    f.distances[v] = (int) newDistance;
+                    f.previous[v] = u;
+                    f.heap.insertOrDecrease(v, newDistance + estimate(v, target, heuristic));
+                }
+            }
+        }
+        return notFound();
+    }
+
+    private long estimate(int v, int target, Heuristic<V> heuristic) {
+        if (estimateStamp[v] != stamp) {
+            estimateStamp[v] = stamp;
+            estimates[v] = heuristic.estimate(graph.label(v), graph.label(target));
+        }
+        return estimates[v];
+    }
+
+    // Путь от начала до end по предкам прямого поиска
+    private Array<V> forwardPath(int end) {
+        int length = 0;
+        for (int v = end; v >= 0; v = forward.previous[v]) {
+            length++;
+        }
+        int[] ids = new int[length];
+        for (int v = end, k = length; v >= 0; v = forward.previous[v]) {
+            ids[--k] = v;
+        }
+        Array<V> path = new Array<>(length + 1);
+        for (int id : ids) {
+            path.add(graph.label(id));
+        }
+        return path;
+    }
+
+    private Path<V> single(int id) {
+        Array<V> path = new Array<>(1);
+        path.add(graph.label(id));
+        return new Path<>(path, 0, 0);
+    }
+
+    private Path<V> notFound() {
+        return new Path<>(new Array<>(1), ShortestPathResult.UNREACHABLE, settled);
+    }
+
+    private Side backward() {
+        if (backward == null) {
+            backward = graph.isDirected() ? new Side(graph.transpose()) : new Side(graph);
+        }
+        return backward;
+    }
+
+    private void nextQuery() {
+        settled = 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            stamp = 1;
+            forward.resetStamps();
+            if (backward != null) {
+                backward.resetStamps();
+            }
+            if (estimateStamp != null) {
+                java.util.Arrays.fill(estimateStamp, 0);
+            }
+        }
+    }
+
+    private int requireId(V v, String message) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException(message);
+        }
+        return id;
+    }
+
+    // Состояние поиска в одном направлении; seen[v] == stamp - вершина достигнута в текущем запросе
+    private static final class Side {
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+        final int[] distances;
+        final int[] previous;
+        final int[] seen;
+        final IndexedMinHeap heap;
+
+        Side(CompactGraph<?> graph) {
+            int n = graph.labels.length;
+            offsets = graph.offsets;
+            targets = graph.targets;
+            weights = graph.weights;
+            distances = new int[n];
+            previous = new int[n];
+            seen = new int[n];
+            heap = new IndexedMinHeap(n);
+        }
+
+        void open(int start, long key, int stamp) {
+            heap.clear();
+            seen[start] = stamp;
+            distances[start] = 0;
+            previous[start] = -1;
+            heap.insert(start, key);
+        }
+
+        // Веса неотрицательны, поэтому извлечённая из кучи вершина больше не улучшается
+        void relax(int u, int v, long newDistance, int stamp) {
+            if (seen[v] != stamp || newDistance < distances[v]) {
+                seen[v] = stamp;
+                distances[v] = (int) newDistance;
+                previous[v] = u;
+                heap.insertOrDecrease(v, newDistance);
+            }
+        }
+
+        void resetStamps() {
+            java.util.Arrays.fill(seen, 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+import com.algorithms.graph.structures.IndexedMinHeap;
+
+// Результат PageRank: оценки вершин в порядке id снимка, сумма оценок равна 1
+public class Ranking<V> {
+    private final CompactGraph<V> graph;
+    private final double[] scores;
+    private final int iterations;
+    private final double error;
+    private final boolean converged;
+
+    Ranking(CompactGraph<V> graph, double[] scores, int iterations, double error, boolean converged) {
+        this.graph = graph;
+        this.scores = scores;
+        this.iterations = iterations;
+        this.error = error;
+        this.converged = converged;
+    }
+
+    public double scoreOf(V vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + vertex + " not found");
+        }
+        return scores[id];
+    }
+
+    // 0 для вершины, которой нет в графе; нужно при переносе оценок на новый снимок
+    double scoreOrZero(V vertex) {
+        int id = graph.idOf(vertex);
+        return id < 0 ? 0 : scores[id];
+    }
+
+    // k вершин с наибольшими оценками, по убыванию
+    public Array<V> top(int k) {
+        int n = scores.length;
+        k = Math.min(k, n);
+        if (k <= 0) {
+            return new Array<>();
+        }
+        // Для неотрицательных double порядок битовых представлений совпадает с порядком чисел
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        for (int v = 0; v < n; v++) {
+            long key = Double.doubleToLongBits(scores[v]);
+            if (heap.size() < k) {
+                heap.insert(v, key);
+            } else if (key > heap.keyOf(heap.peekMin())) {
+                heap.pollMin();
+                heap.insert(v, key);
+            }
+        }
+
+        int[] ids = new int[k];
+        for (int i = k - 1; i >= 0; i--) {
+            ids[i] = heap.pollMin();
+        }
+        Array<V> result = new Array<>(k);
+        for (int id : ids) {
+            result.add(graph.label(id));
+        }
+        return result;
+    }
+
+    // Сам массив оценок (без копирования); порядок вершин совпадает с getVertices()
+    public double[] getScores() {
+        return scores;
+    }
+
+    public Array<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // L1-норма изменения оценок на последней итерации
+    public double getError() {
+        return error;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+}
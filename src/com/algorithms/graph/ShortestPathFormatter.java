@@ -0,0 +1,51 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Текстовые отчёты для dijkstra()/bellmanFord(); сами алгоритмы возвращают ShortestPathResult
+public final class ShortestPathFormatter {
+    private ShortestPathFormatter() {
+    }
+
+    public static <V> String dijkstraReport(ShortestPathResult<V> result) {
+        return report("=== АЛГОРИТМ ДЕЙКСТРЫ ===\n", result);
+    }
+
+    public static <V> String bellmanFordReport(ShortestPathResult<V> result) {
+        if (result.hasNegativeCycle()) {
+            return "Обнаружен отрицательный цикл! Алгоритм не может найти корректные кратчайшие пути.";
+        }
+        return report("=== АЛГОРИТМ БЕЛЛМАНА-ФОРДА ===\n", result) +
+                "\nОсобенности алгоритма:\n" +
+                "- Работает с отрицательными весами рёбер\n" +
+                "- Обнаруживает отрицательные циклы\n" +
+                "- Временная сложность: O(V*E)\n";
+    }
+
+    private static <V> String report(String header, ShortestPathResult<V> result) {
+        CompactGraph<V> graph = result.graph();
+        int[] distances = result.distances();
+
+        StringBuilder report = new StringBuilder();
+        report.append(header);
+        report.append("Стартовая вершина: ").append(result.getSource()).append("\n\n");
+        report.append("Кратчайшие расстояния:\n");
+
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] == ShortestPathResult.UNREACHABLE) {
+                report.append(graph.label(v)).append(": недостижима\n");
+            } else {
+                report.append(graph.label(v)).append(": ").append(distances[v]);
+
+                // Восстанавливаем путь
+                Array<V> path = result.path(v);
+                if (path.size() > 1) {
+                    report.append(" (путь: ").append(path.toString()).append(")");
+                }
+                report.append("\n");
+            }
+        }
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Результат поиска кратчайших путей из одной вершины: массив расстояний и массив предков.
+// Пути восстанавливаются только по запросу для конкретной вершины
+public class ShortestPathResult<V> {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CompactGraph<V> graph;
+    private final int source;
+    private final int[] distances;
+    private final int[] previous;
+    private final boolean negativeCycle;
+
+    ShortestPathResult(CompactGraph<V> graph, int source, int[] distances, int[] previous, boolean negativeCycle) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.previous = previous;
+        this.negativeCycle = negativeCycle;
+    }
+
+    public V getSource() {
+        return graph.label(source);
+    }
+
+    // При отрицательном цикле расстояния не определены, запросы к ним бросают исключение
+    public boolean hasNegativeCycle() {
+        return negativeCycle;
+    }
+
+    public boolean isReachable(V target) {
+        return distanceTo(target) != UNREACHABLE;
+    }
+
+    public int distanceTo(V target) {
+        requireNoNegativeCycle();
+        return distances[requireId(target)];
+    }
+
+    public V predecessorOf(V target) {
+        requireNoNegativeCycle();
+        int id = previous[requireId(target)];
+        return id < 0 ? null : graph.label(id);
+    }
+
+    // Пустой массив, если вершина недостижима
+    public Array<V> pathTo(V target) {
+        requireNoNegativeCycle();
+        return path(requireId(target));
+    }
+
+    // Порядок вершин в массивах совпадает с getVertices() снимка
+    public Array<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    int[] distances() {
+        return distances;
+    }
+
+    int[] predecessors() {
+        return previous;
+    }
+
+    int sourceId() {
+        return source;
+    }
+
+    CompactGraph<V> graph() {
+        return graph;
+    }
+
+    Array<V> path(int target) {
+        if (distances[target] == UNREACHABLE) {
+            return new Array<>();
+        }
+
+        // Простой путь содержит не больше n вершин; более длинная цепочка предков зациклена
+        int length = 0;
+        for (int v = target; v >= 0; v = previous[v]) {
+            if (++length > distances.length) {
+                throw new IllegalStateException("Predecessor chain of vertex " + graph.label(target) + " contains a cycle");
+            }
+        }
+
+        int[] ids = new int[length];
+        int k = length;
+        for (int v = target; v >= 0; v = previous[v]) {
+            ids[--k] = v;
+        }
+        if (ids[0] != source) {
+            return new Array<>();
+        }
+
+        Array<V> path = new Array<>(length);
+        for (int i = 0; i < length; i++) {
+            path.add(graph.label(ids[i]));
+        }
+        return path;
+    }
+
+    private void requireNoNegativeCycle() {
+        if (negativeCycle) {
+            throw new IllegalStateException("Shortest paths are undefined: graph contains a negative cycle");
+        }
+    }
+
+    private int requireId(V v) {
+        int id = graph.idOf(v);
+        if (id < 0) {
+            throw new RuntimeException("Vertex " + v + " not found");
+        }
+        return id;
+    }
+}
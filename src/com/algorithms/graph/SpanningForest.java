@@ -0,0 +1,65 @@
+package com.algorithms.graph;
+
+// Минимальный остовный лес: по дереву на каждую компоненту связности.
+// Рёбра хранятся в параллельных массивах id снимка
+public class SpanningForest<V> {
+    private final CompactGraph<V> graph;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weights;
+    private final long totalWeight;
+
+    SpanningForest(CompactGraph<V> graph, int[] from, int[] to, int[] weights) {
+        this.graph = graph;
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+        long total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        this.totalWeight = total;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int getEdgeCount() {
+        return from.length;
+    }
+
+    // Число деревьев; изолированная вершина - отдельное дерево
+    public int getTreeCount() {
+        return graph.labels.length - from.length;
+    }
+
+    public V getFrom(int edge) {
+        return graph.label(from[edge]);
+    }
+
+    public V getTo(int edge) {
+        return graph.label(to[edge]);
+    }
+
+    public int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    // Лес как отдельный граф со всеми вершинами исходного
+    public UndirectedGraph<V> toGraph() {
+        int n = graph.labels.length;
+        GraphBuilder<V> builder = new GraphBuilder<>(n, from.length);
+        // Вершины добавляются в порядке id, поэтому id сборщика совпадают с id снимка
+        for (int v = 0; v < n; v++) {
+            builder.vertexId(graph.label(v));
+        }
+        builder.addEdges(from, to, weights);
+        return builder.buildUndirected();
+    }
+
+    @Override
+    public String toString() {
+        return "остовный лес: " + from.length + " рёбер, " + getTreeCount() + " деревьев, вес " + totalWeight;
+    }
+}
@@ -0,0 +1,215 @@
+package com.algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Bellman-Ford с очередью (SPFA): релаксируются только вершины, чьё расстояние изменилось.
+// Порядок очереди - small label first: вершина с расстоянием меньше, чем у головы, встаёт в начало.
+// Рёбра берутся прямо из массивов снимка; отрицательные веса допустимы
+public class Spfa<V> {
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+
+    public Spfa(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public Spfa(CompactGraph<V> graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public ShortestPathResult<V> run(V start) {
+        int source = requireSource(start);
+        int n = graph.labels.length;
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        java.util.Arrays.fill(distances, ShortestPathResult.UNREACHABLE);
+        java.util.Arrays.fill(previous, -1);
+        distances[source] = 0;
+
+        boolean negativeCycle = relax(distances, previous, new int[]{source});
+        if (negativeCycle) {
+            clearCyclePredecessors(previous);
+        }
+        return new ShortestPathResult<>(graph, source, distances, previous, negativeCycle);
+    }
+
+    // Потенциалы для перевзвешивания Джонсона: расстояния от фиктивной вершины,
+    // соединённой рёбрами веса 0 со всеми вершинами; null при отрицательном цикле
+    int[] potentials() {
+        int n = graph.labels.length;
+        int[] distances = new int[n];
+        int[] previous = new int[n];
+        int[] starts = new int[n];
+        java.util.Arrays.fill(previous, -1);
+        for (int v = 0; v < n; v++) {
+            starts[v] = v;
+        }
+        return relax(distances, previous, starts) ? null : distances;
+    }
+
+    // Релаксация из вершин starts с уже заданными расстояниями; true, если найден отрицательный цикл
+    private boolean relax(int[] distances, int[] previous, int[] starts) {
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+
+        // Число рёбер в текущем пути; путь из n рёбер проходит через отрицательный цикл
+        int[] hops = new int[n];
+        boolean[] queued = new boolean[n];
+
+        // Кольцевой дек: каждая вершина стоит в очереди не более одного раза
+        int[] deque = new int[n];
+        int head = 0;
+        int size = starts.length;
+        for (int k = 0; k < starts.length; k++) {
+            deque[k] = starts[k];
+            queued[starts[k]] = true;
+        }
+
+        while (size > 0) {
+            int u = deque[head];
+            head = head + 1 == n ? 0 : head + 1;
+            size--;
+            queued[u] = false;
+
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                long newDistance = (long) distances[u] + weights[i];
+                if (newDistance >= distances[v]) {
+                    continue;
+                }
+                distances[v] = (int) newDistance;
+                previous[v] = u;
+                hops[v] = hops[u] + 1;
+                if (hops[v] >= n) {
+                    return true;
+                }
+                if (!queued[v]) {
+                    queued[v] = true;
+                    if (size > 0 && distances[v] < distances[deque[head]]) {
+                        head = head == 0 ? n - 1 : head - 1;
+                        deque[head] = v;
+                    } else {
+                        int tail = head + size;
+                        deque[tail >= n ? tail - n : tail] = v;
+                    }
+                    size++;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Полные проходы релаксации, выполняемые параллельно по вершинам: каждая вершина
+    // берёт минимум по входящим рёбрам из расстояний предыдущего прохода.
+    // Выгоднее очереди, когда на каждом проходе меняется большая часть вершин
+    public ShortestPathResult<V> runParallel(V start) {
+        int source = requireSource(start);
+        int n = graph.labels.length;
+        CompactGraph<V> incoming = graph.transpose();
+        int[] inOffsets = incoming.offsets;
+        int[] inSources = incoming.targets;
+        int[] inWeights = incoming.weights;
+
+        int[] distances = new int[n];
+        int[] next = new int[n];
+        int[] previous = new int[n];
+        java.util.Arrays.fill(distances, ShortestPathResult.UNREACHABLE);
+        java.util.Arrays.fill(previous, -1);
+        distances[source] = 0;
+
+        // После n - 1 проходов расстояния окончательны; изменение на n-м означает отрицательный цикл
+        boolean negativeCycle = false;
+        for (int pass = 0; pass < n; pass++) {
+            int[] current = distances;
+            int[] updated = next;
+            AtomicBoolean changed = new AtomicBoolean();
+            Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+                boolean localChange = false;
+                for (int v = first; v < last; v++) {
+                    long best = current[v];
+                    int bestPrevious = -1;
+                    for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                        int u = inSources[i];
+                        if (current[u] == ShortestPathResult.UNREACHABLE) {
+                            continue;
+                        }
+                        long candidate = (long) current[u] + inWeights[i];
+                        if (candidate < best) {
+                            best = candidate;
+                            bestPrevious = u;
+                        }
+                    }
+                    updated[v] = (int) best;
+                    if (bestPrevious >= 0) {
+                        previous[v] = bestPrevious;
+                        localChange = true;
+                    }
+                }
+                if (localChange) {
+                    changed.set(true);
+                }
+            });
+
+            distances = updated;
+            next = current;
+            if (!changed.get()) {
+                break;
+            }
+            if (pass == n - 1) {
+                negativeCycle = true;
+            }
+        }
+
+        if (negativeCycle) {
+            clearCyclePredecessors(previous);
+        }
+        return new ShortestPathResult<>(graph, source, distances, previous, negativeCycle);
+    }
+
+    // При отрицательном цикле массив предков содержит цикл. Все цепочки, ведущие в цикл,
+    // идут по рёбрам из него, поэтому у вершин, достижимых из цикла, предки сбрасываются
+    private void clearCyclePredecessors(int[] previous) {
+        int n = previous.length;
+        // 0 - не посещена, номер обхода + 1 - на текущей цепочке или уже разобрана
+        int[] walk = new int[n];
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        int tail = 0;
+        for (int start = 0; start < n; start++) {
+            int v = start;
+            while (v >= 0 && walk[v] == 0) {
+                walk[v] = start + 1;
+                v = previous[v];
+            }
+            // Цепочка замкнулась на себя: v лежит на цикле
+            if (v >= 0 && walk[v] == start + 1 && !reached[v]) {
+                reached[v] = true;
+                queue[tail++] = v;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            previous[u] = -1;
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                if (!reached[v]) {
+                    reached[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    private int requireSource(V start) {
+        int source = graph.idOf(start);
+        if (source < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+        return source;
+    }
+}
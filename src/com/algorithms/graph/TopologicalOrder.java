@@ -0,0 +1,125 @@
+package com.algorithms.graph;
+
+import com.algorithms.graph.structures.Array;
+
+// Топологический порядок снимка по Кану. Если граф содержит цикл, порядок неполон
+// (в нём только вершины, не достижимые из циклов), а getCycle() возвращает один из циклов
+public class TopologicalOrder<V> {
+    private final CompactGraph<V> graph;
+    private final int[] order;
+    private final int[] position;
+    private final int[] cycle;
+
+    private TopologicalOrder(CompactGraph<V> graph, int[] order, int[] position, int[] cycle) {
+        this.graph = graph;
+        this.order = order;
+        this.position = position;
+        this.cycle = cycle;
+    }
+
+    static <V> TopologicalOrder<V> of(CompactGraph<V> graph) {
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+
+        int[] inDegree = new int[n];
+        for (int target : targets) {
+            inDegree[target]++;
+        }
+
+        // Массив порядка одновременно служит очередью вершин без входящих рёбер
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (--inDegree[targets[i]] == 0) {
+                    order[tail++] = targets[i];
+                }
+            }
+        }
+
+        if (tail == n) {
+            int[] position = new int[n];
+            for (int k = 0; k < n; k++) {
+                position[order[k]] = k;
+            }
+            return new TopologicalOrder<>(graph, order, position, null);
+        }
+        return new TopologicalOrder<>(graph, java.util.Arrays.copyOf(order, tail), null, findCycle(graph, inDegree));
+    }
+
+    // У каждой оставшейся вершины есть входящее ребро из оставшейся, поэтому шаги назад
+    // по входящим рёбрам рано или поздно повторяют вершину; отрезок между повторами - цикл
+    private static int[] findCycle(CompactGraph<?> graph, int[] remaining) {
+        CompactGraph<?> incoming = graph.transpose();
+        int n = remaining.length;
+        int[] step = new int[n];
+        java.util.Arrays.fill(step, -1);
+        int[] walk = new int[n];
+        int length = 0;
+
+        int v = 0;
+        while (remaining[v] == 0) {
+            v++;
+        }
+        while (step[v] < 0) {
+            step[v] = length;
+            walk[length++] = v;
+            int next = -1;
+            for (int i = incoming.offsets[v]; i < incoming.offsets[v + 1] && next < 0; i++) {
+                if (remaining[incoming.targets[i]] > 0) {
+                    next = incoming.targets[i];
+                }
+            }
+            v = next;
+        }
+
+        // Шли против рёбер, поэтому разворачиваем
+        int[] cycle = new int[length - step[v]];
+        for (int k = 0; k < cycle.length; k++) {
+            cycle[k] = walk[length - 1 - k];
+        }
+        return cycle;
+    }
+
+    public boolean isAcyclic() {
+        return cycle == null;
+    }
+
+    // При цикле - только вершины, упорядоченные до него
+    public Array<V> getOrder() {
+        return labelsOf(order);
+    }
+
+    // Вершины цикла в порядке рёбер, последняя соединена с первой; пустой массив для DAG
+    public Array<V> getCycle() {
+        return cycle == null ? new Array<>() : labelsOf(cycle);
+    }
+
+    int[] order() {
+        return order;
+    }
+
+    int[] positions() {
+        return position;
+    }
+
+    private Array<V> labelsOf(int[] ids) {
+        Array<V> vertices = new Array<>(Math.max(1, ids.length));
+        for (int id : ids) {
+            vertices.add(graph.label(id));
+        }
+        return vertices;
+    }
+
+    @Override
+    public String toString() {
+        return isAcyclic() ? getOrder().toString() : "цикл: " + getCycle();
+    }
+}
@@ -0,0 +1,220 @@
+package com.algorithms.graph;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Ленивый обход снимка в ширину или в глубину: следующая вершина вычисляется только по запросу,
+// поэтому поиск первой подходящей вершины или соседей в пределах k шагов не проходит весь граф.
+// Порядок вершин тот же, что у bfsString/dfsString. Рабочие массивы растут по мере обхода,
+// заранее выделяется только битовая карта посещённых вершин.
+// Глубина в DFS - глубина в дереве обхода, а не число рёбер кратчайшего пути;
+// для "соседей в пределах k шагов" нужен BFS
+public class Traversal<V> implements Iterable<Visit<V>> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final CompactGraph<V> graph;
+    private final int start;
+    private final boolean depthFirst;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxVisited = Integer.MAX_VALUE;
+
+    Traversal(CompactGraph<V> graph, V start, boolean depthFirst) {
+        this.graph = graph;
+        this.start = graph.idOf(start);
+        if (this.start < 0) {
+            throw new RuntimeException("Start vertex " + start + " not found");
+        }
+        this.depthFirst = depthFirst;
+    }
+
+    // Вершины глубже maxDepth не выдаются и не раскрываются
+    public Traversal<V> maxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Max depth must be non-negative");
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    // Обход останавливается после maxVisited выданных вершин
+    public Traversal<V> maxVisited(int maxVisited) {
+        if (maxVisited < 0) {
+            throw new IllegalArgumentException("Max visited must be non-negative");
+        }
+        this.maxVisited = maxVisited;
+        return this;
+    }
+
+    // Каждый вызов начинает обход заново
+    @Override
+    public Iterator<Visit<V>> iterator() {
+        return depthFirst ? new DepthFirst() : new BreadthFirst();
+    }
+
+    public Stream<Visit<V>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    public Stream<V> vertices() {
+        return stream().map(Visit::getVertex);
+    }
+
+    // Первая в порядке обхода вершина, удовлетворяющая условию; null, если такой нет
+    public Visit<V> findFirst(Predicate<? super V> condition) {
+        for (Visit<V> visit : this) {
+            if (condition.test(visit.getVertex())) {
+                return visit;
+            }
+        }
+        return null;
+    }
+
+    private abstract class Cursor implements Iterator<Visit<V>> {
+        private final long[] visited = new long[(graph.labels.length + 63) >>> 6];
+        private int emitted;
+        private Visit<V> next;
+
+        // Следующая посещённая вершина или null, если обход закончен
+        abstract Visit<V> advance();
+
+        boolean tryVisit(int v) {
+            long bit = 1L << v;
+            if ((visited[v >>> 6] & bit) != 0) {
+                return false;
+            }
+            visited[v >>> 6] |= bit;
+            return true;
+        }
+
+        Visit<V> visit(int v, int depth, int parent, int weight) {
+            return new Visit<>(graph.label(v), depth, parent < 0 ? null : graph.label(parent), weight);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && emitted < maxVisited) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Visit<V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Visit<V> visit = next;
+            next = null;
+            emitted++;
+            return visit;
+        }
+    }
+
+    // Очередь хранит вершину, её глубину, родителя и вес ребра; вершина раскрывается
+    // только когда очередь до неё исчерпана, чтобы ранняя остановка не трогала лишние рёбра
+    private final class BreadthFirst extends Cursor {
+        private int[] queue = new int[INITIAL_CAPACITY];
+        private int[] depths = new int[INITIAL_CAPACITY];
+        private int[] parents = new int[INITIAL_CAPACITY];
+        private int[] weights = new int[INITIAL_CAPACITY];
+        private int head;
+        private int tail;
+        private int expanded;
+
+        BreadthFirst() {
+            tryVisit(start);
+            enqueue(start, 0, -1, 0);
+        }
+
+        @Override
+        Visit<V> advance() {
+            while (head == tail && expanded < head) {
+                expand(expanded++);
+            }
+            if (head == tail) {
+                return null;
+            }
+            int k = head++;
+            return visit(queue[k], depths[k], parents[k], weights[k]);
+        }
+
+        private void expand(int k) {
+            int u = queue[k];
+            int depth = depths[k];
+            if (depth >= maxDepth) {
+                return;
+            }
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                if (tryVisit(v)) {
+                    enqueue(v, depth + 1, u, graph.weights[i]);
+                }
+            }
+        }
+
+        private void enqueue(int v, int depth, int parent, int weight) {
+            if (tail == queue.length) {
+                int capacity = Math.min(graph.labels.length, tail * 2);
+                queue = java.util.Arrays.copyOf(queue, capacity);
+                depths = java.util.Arrays.copyOf(depths, capacity);
+                parents = java.util.Arrays.copyOf(parents, capacity);
+                weights = java.util.Arrays.copyOf(weights, capacity);
+            }
+            queue[tail] = v;
+            depths[tail] = depth;
+            parents[tail] = parent;
+            weights[tail] = weight;
+            tail++;
+        }
+    }
+
+    // Явный стек вызовов: вершина и позиция в её списке рёбер, глубина - высота стека
+    private final class DepthFirst extends Cursor {
+        private int[] callVertex = new int[INITIAL_CAPACITY];
+        private int[] callEdge = new int[INITIAL_CAPACITY];
+        private int height;
+        private boolean started;
+
+        @Override
+        Visit<V> advance() {
+            if (!started) {
+                started = true;
+                tryVisit(start);
+                push(start);
+                return visit(start, 0, -1, 0);
+            }
+            while (height > 0) {
+                int u = callVertex[height - 1];
+                int i = callEdge[height - 1];
+                // Вершина на максимальной глубине не раскрывается
+                if (i == graph.offsets[u + 1] || height > maxDepth) {
+                    height--;
+                    continue;
+                }
+                callEdge[height - 1]++;
+                int v = graph.targets[i];
+                if (tryVisit(v)) {
+                    push(v);
+                    return visit(v, height - 1, u, graph.weights[i]);
+                }
+            }
+            return null;
+        }
+
+        private void push(int v) {
+            if (height == callVertex.length) {
+                callVertex = java.util.Arrays.copyOf(callVertex, height * 2);
+                callEdge = java.util.Arrays.copyOf(callEdge, height * 2);
+            }
+            callVertex[height] = v;
+            callEdge[height] = graph.offsets[v];
+            height++;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.algorithms.graph;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Подсчёт треугольников на неориентированном снимке. Рёбра ориентируются от вершины
+// с меньшей степенью к большей (при равенстве - по id), поэтому каждый треугольник
+// находится ровно один раз, а исходящие списки не длиннее sqrt(2E). Треугольники (u, v, w)
+// ищутся пересечением отсортированных исходящих списков u и v; длинный список u
+// один раз раскладывается в битовую карту, и проверка соседа становится O(1).
+// Внутри всё индексируется номерами в порядке ориентации, а не id снимка
+public class TriangleCounting<V> {
+    // Исходящая степень, начиная с которой список раскладывается в битовую карту
+    static final int HUB_DEGREE = 256;
+    // Работа на вершину сильно неравномерна: мелкие куски лучше делятся между потоками
+    private static final int GRAIN = 256;
+
+    private final CompactGraph<V> graph;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<long[]> idleBitmaps = new ConcurrentLinkedQueue<>();
+
+    public TriangleCounting(CompactGraph<V> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public TriangleCounting(CompactGraph<V> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Triangle counting requires an undirected graph");
+        }
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    public Clustering<V> count() {
+        int n = graph.labels.length;
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+
+        int[] degrees = new int[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                int degree = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (targets[i] != u) {
+                        degree++;
+                    }
+                }
+                degrees[u] = degree;
+            }
+        });
+
+        // Вершины перенумеровываются по (степень, id): ребро идёт от меньшего номера к большему,
+        // и списки, отсортированные по номеру, отсортированы и по порядку ориентации
+        long[] keys = new long[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int u = first; u < last; u++) {
+                keys[u] = (long) degrees[u] << 32 | u;
+            }
+        });
+        pool.invoke(ForkJoinTask.adapt(() -> java.util.Arrays.parallelSort(keys)));
+        int[] order = new int[n];
+        int[] rank = new int[n];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int r = first; r < last; r++) {
+                order[r] = (int) keys[r];
+                rank[order[r]] = r;
+            }
+        });
+
+        // Исходящие списки по номерам: только соседи со старшим номером (петли отпадают сами)
+        int[] start = new int[n + 1];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int r = first; r < last; r++) {
+                int u = order[r];
+                int count = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (rank[targets[i]] > r) {
+                        count++;
+                    }
+                }
+                start[r + 1] = count;
+            }
+        });
+        for (int r = 0; r < n; r++) {
+            start[r + 1] += start[r];
+        }
+        int[] higher = new int[start[n]];
+        Parallel.forRange(pool, 0, n, Parallel.DEFAULT_GRAIN, (first, last) -> {
+            for (int r = first; r < last; r++) {
+                int u = order[r];
+                int k = start[r];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (rank[targets[i]] > r) {
+                        higher[k++] = rank[targets[i]];
+                    }
+                }
+                java.util.Arrays.sort(higher, start[r], start[r + 1]);
+            }
+        });
+
+        AtomicLongArray counts = new AtomicLongArray(n);
+        Parallel.forRange(pool, 0, n, GRAIN, (first, last) -> {
+            long[] bitmap = null;
+            for (int u = first; u < last; u++) {
+                int from = start[u];
+                int to = start[u + 1];
+                if (to - from < 2) {
+                    continue;
+                }
+                long found;
+                if (to - from >= HUB_DEGREE) {
+                    if (bitmap == null) {
+                        bitmap = idleBitmaps.poll();
+                        if (bitmap == null) {
+                            bitmap = new long[(n + 63) >>> 6];
+                        }
+                    }
+                    found = countWithBitmap(start, higher, counts, u, bitmap);
+                } else {
+                    found = countByMerge(start, higher, counts, u);
+                }
+                if (found > 0) {
+                    counts.addAndGet(u, found);
+                }
+            }
+            if (bitmap != null) {
+                idleBitmaps.add(bitmap);
+            }
+        });
+
+        long[] triangles = new long[n];
+        for (int r = 0; r < n; r++) {
+            triangles[order[r]] = counts.get(r);
+        }
+        return new Clustering<>(graph, triangles, degrees);
+    }
+
+    // Треугольники с младшей вершиной u; счётчики v и w обновляются сразу, u - возвращается.
+    // Третья вершина старше v, поэтому список u просматривается только после v
+    private static long countByMerge(int[] start, int[] higher, AtomicLongArray counts, int u) {
+        long found = 0;
+        int uEnd = start[u + 1];
+        for (int k = start[u]; k < uEnd - 1; k++) {
+            int v = higher[k];
+            int i = k + 1;
+            int j = start[v];
+            int vEnd = start[v + 1];
+            long local = 0;
+            while (i < uEnd && j < vEnd) {
+                if (higher[i] < higher[j]) {
+                    i++;
+                } else if (higher[i] > higher[j]) {
+                    j++;
+                } else {
+                    counts.incrementAndGet(higher[j]);
+                    local++;
+                    i++;
+                    j++;
+                }
+            }
+            if (local > 0) {
+                counts.addAndGet(v, local);
+                found += local;
+            }
+        }
+        return found;
+    }
+
+    // Битовая карта возвращается очищенной: сбрасываются только выставленные биты
+    private static long countWithBitmap(int[] start, int[] higher, AtomicLongArray counts, int u, long[] bitmap) {
+        int uStart = start[u];
+        int uEnd = start[u + 1];
+        for (int k = uStart; k < uEnd; k++) {
+            bitmap[higher[k] >>> 6] |= 1L << higher[k];
+        }
+
+        long found = 0;
+        for (int k = uStart; k < uEnd; k++) {
+            int v = higher[k];
+            long local = 0;
+            for (int j = start[v]; j < start[v + 1]; j++) {
+                int w = higher[j];
+                if ((bitmap[w >>> 6] & 1L << w) != 0) {
+                    counts.incrementAndGet(w);
+                    local++;
+                }
+            }
+            if (local > 0) {
+                counts.addAndGet(v, local);
+                found += local;
+            }
+        }
+
+        for (int k = uStart; k < uEnd; k++) {
+            bitmap[higher[k] >>> 6] = 0;
+        }
+        return found;
+    }
+}
@@ -1,7 +1,5 @@
 package com.algorithms.graph;
 
-import com.algorithms.graph.structures.*;
-
 public class UndirectedGraph<V> extends AbstractGraph<V> {
     public UndirectedGraph() {
         super(false);
@@ -9,55 +7,76 @@ public class UndirectedGraph<V> extends AbstractGraph<V> {
 
     @Override
     public void addEdge(V from, V to, int weight) {
-        addVertex(from);
-        addVertex(to);
-
-        Array<Edge<V>> edgesFrom = adjacencyList.get(from);
-        Array<Edge<V>> edgesTo = adjacencyList.get(to);
-
-        Edge<V> edgeFromTo = new Edge<>(to, weight);
-        Edge<V> edgeToFrom = new Edge<>(from, weight);
-
-        // Remove existing edges if present
-        removeEdgeFromList(edgesFrom, edgeFromTo);
-        removeEdgeFromList(edgesTo, edgeToFrom);
+        int fromId = internVertex(from);
+        int toId = internVertex(to);
+        putEdge(fromId, toId, weight);
+    }
 
-        edgesFrom.add(edgeFromTo);
-        edgesTo.add(edgeToFrom);
+    @Override
+    protected boolean insertEdge(int fromId, int toId, int weight) {
+        // Existing edge keeps its slot and gets the new weight; a loop is stored once
+        boolean added = adjacencyList.get(fromId).put(toId, weight);
+        if (fromId != toId) {
+            adjacencyList.get(toId).put(fromId, weight);
+        }
+        if (added) {
+            edgeCount++;
+        }
+        return added;
+    }
 
+    @Override
+    protected void appendEdge(int fromId, int toId, int weight) {
+        adjacencyList.get(fromId).append(toId, weight);
+        if (fromId != toId) {
+            adjacencyList.get(toId).append(fromId, weight);
+        }
         edgeCount++;
     }
 
+    @Override
+    protected void replaceWeight(int fromId, int slot, int weight) {
+        EdgeList edges = adjacencyList.get(fromId);
+        edges.weights[slot] = weight;
+        int toId = edges.targets[slot];
+        if (toId != fromId) {
+            adjacencyList.get(toId).put(fromId, weight);
+        }
+    }
+
     @Override
     public void removeVertex(V v) {
-        if (!adjacencyList.containsKey(v)) {
+        int id = idOf(v);
+        if (id < 0) {
             return;
         }
 
         // Remove all edges connected to this vertex
-        Array<Edge<V>> edges = adjacencyList.get(v);
+        EdgeList edges = adjacencyList.get(id);
         for (int i = 0; i < edges.size(); i++) {
-            removeEdgeFromVertex(edges.get(i).target, v);
+            if (edges.targets[i] != id) {
+                adjacencyList.get(edges.targets[i]).remove(id);
+            }
         }
 
         edgeCount -= edges.size();
-        adjacencyList.remove(v);
+        releaseId(id);
     }
 
     @Override
     public void removeEdge(V from, V to) {
-        if (adjacencyList.containsKey(from) && adjacencyList.containsKey(to)) {
-            Array<Edge<V>> edgesFrom = adjacencyList.get(from);
-            Array<Edge<V>> edgesTo = adjacencyList.get(to);
-
-            int initialSizeFrom = edgesFrom.size();
-            int initialSizeTo = edgesTo.size();
-
-            removeEdgeFromList(edgesFrom, new Edge<>(to, 0));
-            removeEdgeFromList(edgesTo, new Edge<>(from, 0));
-
-            edgeCount -= ((initialSizeFrom - edgesFrom.size()) +
-                    (initialSizeTo - edgesTo.size())) / 2;
+        int fromId = idOf(from);
+        int toId = idOf(to);
+        // Вес нужен только слушателям
+        Integer weight = hasListeners() ? getEdgeWeight(from, to) : null;
+        if (fromId >= 0 && toId >= 0 && removeEdgeFromVertex(fromId, toId)) {
+            if (fromId != toId) {
+                removeEdgeFromVertex(toId, fromId);
+            }
+            edgeCount--;
+            if (weight != null) {
+                fireEdgeRemoved(fromId, toId, weight);
+            }
         }
     }
 
@@ -66,12 +85,17 @@ public class UndirectedGraph<V> extends AbstractGraph<V> {
         return edgeCount;
     }
 
-    private void removeEdgeFromList(Array<Edge<V>> edges, Edge<V> edgeToRemove) {
-        for (int i = 0; i < edges.size(); i++) {
-            if (edges.get(i).equals(edgeToRemove)) {
-                edges.remove(i);
-                break;
-            }
-        }
+    public Components<V> connectedComponents() {
+        return new Connectivity<>(snapshot()).connectedComponents();
+    }
+
+    // Треугольники, локальные коэффициенты кластеризации и транзитивность
+    public Clustering<V> clustering() {
+        return new TriangleCounting<>(snapshot()).count();
+    }
+
+    // Для графов с десятками миллионов рёбер - new MinimumSpanningForest<>(snapshot(), pool).boruvka()
+    public SpanningForest<V> minimumSpanningForest() {
+        return new MinimumSpanningForest<>(snapshot()).kruskal();
     }
-}
\ No newline at end of file
+}
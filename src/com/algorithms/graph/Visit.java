@@ -0,0 +1,39 @@
+package com.algorithms.graph;
+
+// Вершина, выданная обходом: глубина в дереве обхода, родитель и вес ребра от родителя.
+// У стартовой вершины глубина 0, родителя нет, вес 0
+public class Visit<V> {
+    private final V vertex;
+    private final int depth;
+    private final V parent;
+    private final int weight;
+
+    Visit(V vertex, int depth, V parent, int weight) {
+        this.vertex = vertex;
+        this.depth = depth;
+        this.parent = parent;
+        this.weight = weight;
+    }
+
+    public V getVertex() {
+        return vertex;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public V getParent() {
+        return parent;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return parent == null ? String.valueOf(vertex)
+                : vertex + " (глубина " + depth + ", из " + parent + ", вес " + weight + ")";
+    }
+}
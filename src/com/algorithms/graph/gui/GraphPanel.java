@@ -47,9 +47,7 @@ public class GraphPanel extends JPanel {
                 // Проверяем, кликнули ли на вершину
                 if (vertices == null) return;
 
-                Array<String> vertexLabels = vertices.keys();
-                for (int i = 0; i < vertexLabels.size(); i++) {
-                    String label = vertexLabels.get(i);
+                for (String label : vertices.keyView()) {
                     Vertex vertex = vertices.get(label);
                     if (vertex != null && vertex.contains(e.getX(), e.getY())) {
                         selectedVertex = vertex;
@@ -163,46 +161,43 @@ public class GraphPanel extends JPanel {
     }
 
     private void drawEdges(Graphics2D g2d) {
-        Array<String> vertexLabels = vertices.keys();
-
         HashSet<String> drawnEdges = new HashSet<>();
 
-        for (int i = 0; i < vertexLabels.size(); i++) {
-            String fromLabel = vertexLabels.get(i);
+        for (String fromLabel : vertices.keyView()) {
             Vertex fromVertex = vertices.get(fromLabel);
 
-            Array<String> adjacent = graph.getAdjacent(fromLabel);
-            for (int j = 0; j < adjacent.size(); j++) {
-                String toLabel = adjacent.get(j);
-                Vertex toVertex = vertices.get(toLabel);
-
-                if (fromVertex != null && toVertex != null) {
-                    Point from = fromVertex.getPosition();
-                    Point to = toVertex.getPosition();
-
-                    // Создаем ключ для ребра (для избежания дублирования в неориентированном графе)
-                    String edgeKey = isDirected ?
-                            fromLabel + "->" + toLabel :
-                            fromLabel.compareTo(toLabel) < 0 ? fromLabel + "-" + toLabel : toLabel + "-" + fromLabel;
-
-                    if (fromLabel.equals(toLabel)) {
-                        drawLoop(g2d, fromVertex, fromLabel);
-                    } else {
-                        g2d.setColor(Color.GRAY);
-                        g2d.setStroke(new BasicStroke(2));
-                        g2d.drawLine(from.x, from.y, to.x, to.y);
-
-                        Integer weight = graph.getEdgeWeight(fromLabel, toLabel);
-
-                        if ((isDirected || !drawnEdges.contains(edgeKey)) && weight != null) {
-                            drawEdgeWeight(g2d, from, to, weight);
-                            drawnEdges.add(edgeKey);
-                        }
-
-                        if (isDirected) {
-                            drawArrow(g2d, from, to);
-                        }
-                    }
+            graph.forEachNeighbor(fromLabel, (toLabel, weight) ->
+                    drawEdge(g2d, fromLabel, fromVertex, toLabel, weight, drawnEdges));
+        }
+    }
+
+    private void drawEdge(Graphics2D g2d, String fromLabel, Vertex fromVertex,
+                          String toLabel, int weight, HashSet<String> drawnEdges) {
+        Vertex toVertex = vertices.get(toLabel);
+
+        if (fromVertex != null && toVertex != null) {
+            Point from = fromVertex.getPosition();
+            Point to = toVertex.getPosition();
+
+            // Создаем ключ для ребра (для избежания дублирования в неориентированном графе)
+            String edgeKey = isDirected ?
+                    fromLabel + "->" + toLabel :
+                    fromLabel.compareTo(toLabel) < 0 ? fromLabel + "-" + toLabel : toLabel + "-" + fromLabel;
+
+            if (fromLabel.equals(toLabel)) {
+                drawLoop(g2d, fromVertex, weight);
+            } else {
+                g2d.setColor(Color.GRAY);
+                g2d.setStroke(new BasicStroke(2));
+                g2d.drawLine(from.x, from.y, to.x, to.y);
+
+                if (isDirected || !drawnEdges.contains(edgeKey)) {
+                    drawEdgeWeight(g2d, from, to, weight);
+                    drawnEdges.add(edgeKey);
+                }
+
+                if (isDirected) {
+                    drawArrow(g2d, from, to);
                 }
             }
         }
@@ -231,7 +226,7 @@ public class GraphPanel extends JPanel {
         g2d.drawString(weightText, midX + offsetX - textWidth/2, midY + offsetY + textHeight/4);
     }
 
-    private void drawLoop(Graphics2D g2d, Vertex vertex, String vertexLabel) {
+    private void drawLoop(Graphics2D g2d, Vertex vertex, int weight) {
         Point center = vertex.getPosition();
         int radius = vertex.getRadius();
 
@@ -241,18 +236,13 @@ public class GraphPanel extends JPanel {
         g2d.drawOval(center.x - radius, center.y - radius - loopSize,
                 radius * 2, loopSize * 2);
 
-        // Получаем реальный вес петли из графа
-        Integer weight = graph.getEdgeWeight(vertexLabel, vertexLabel);
-
         // Рисуем вес петли
-        if (weight != null) {
-            g2d.setColor(Color.BLUE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
-            String weightText = String.valueOf(weight);
-            FontMetrics fm = g2d.getFontMetrics();
-            int textWidth = fm.stringWidth(weightText);
-            g2d.drawString(weightText, center.x - textWidth/2, center.y - radius - loopSize - 5);
-        }
+        g2d.setColor(Color.BLUE);
+        g2d.setFont(new Font("Arial", Font.BOLD, 12));
+        String weightText = String.valueOf(weight);
+        FontMetrics fm = g2d.getFontMetrics();
+        int textWidth = fm.stringWidth(weightText);
+        g2d.drawString(weightText, center.x - textWidth/2, center.y - radius - loopSize - 5);
 
         // Для ориентированного графа рисуем стрелку на петле
         if (isDirected) {
@@ -288,10 +278,7 @@ public class GraphPanel extends JPanel {
     }
 
     private void drawVertices(Graphics2D g2d) {
-        Array<String> vertexLabels = vertices.keys();
-
-        for (int i = 0; i < vertexLabels.size(); i++) {
-            String label = vertexLabels.get(i);
+        for (String label : vertices.keyView()) {
             Vertex vertex = vertices.get(label);
             if (vertex == null) continue;
 
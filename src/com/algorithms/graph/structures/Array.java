@@ -61,6 +61,14 @@ public class Array<T> {
         return (T) data[index];
     }
 
+    public T set(int index, T element) {
+        checkIndex(index);
+        @SuppressWarnings("unchecked")
+        T previous = (T) data[index];
+        data[index] = element;
+        return previous;
+    }
+
     public T remove(int index) {
         checkIndex(index);
         @SuppressWarnings("unchecked")
@@ -105,6 +113,14 @@ public class Array<T> {
         return -1;
     }
 
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            Object[] newData = new Object[minCapacity];
+            System.arraycopy(data, 0, newData, 0, size);
+            data = newData;
+        }
+    }
+
     private void ensureCapacity() {
         if (size == data.length) {
             Object[] newData = new Object[data.length * 2];
@@ -0,0 +1,73 @@
+package com.algorithms.graph.structures;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Потокобезопасная система непересекающихся множеств без блокировок.
+// Корень с большим id подвешивается к корню с меньшим через CAS, поэтому циклов не возникает;
+// сжатие путей делается тоже через CAS и может не состояться при гонке, что не влияет на корректность
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger count;
+
+    public ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+        count = new AtomicInteger(size);
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return false;
+            }
+            int high = Math.max(rootX, rootY);
+            int low = Math.min(rootX, rootY);
+            // Не удалось, если high перестал быть корнем; тогда повторяем с новыми корнями
+            if (parent.compareAndSet(high, high, low)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return true;
+            }
+            // Корень x не изменился за время поиска - значит, множества действительно разные
+            if (parent.get(rootX) == rootX) {
+                return false;
+            }
+        }
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    public int size() {
+        return parent.length();
+    }
+}
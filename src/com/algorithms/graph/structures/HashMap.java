@@ -1,93 +1,64 @@
 package com.algorithms.graph.structures;
 
+// Хеш-таблица с открытой адресацией: линейное пробирование, размер - степень двойки,
+// удаление сдвигом назад без "надгробий"
 public class HashMap<K, V> {
-    private static final int INITIAL_CAPACITY = 16;
-    private static final float LOAD_FACTOR = 0.75f;
-
-    private Entry<K, V>[] table;
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
     private int size;
 
-    private static class Entry<K, V> {
-        final K key;
-        V value;
-        Entry<K, V> next;
-
-        Entry(K key, V value) {
-            this.key = key;
-            this.value = value;
-        }
+    public HashMap() {
+        this(0);
     }
 
-    @SuppressWarnings("unchecked")
-    public HashMap() {
-        table = new Entry[INITIAL_CAPACITY];
+    public HashMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
         size = 0;
     }
 
     public void put(K key, V value) {
         if (key == null) return;
 
-        int index = hash(key) % table.length;
-        Entry<K, V> current = table[index];
-
-        while (current != null) {
-            if (current.key.equals(key)) {
-                current.value = value;
+        int index = Hashing.spread(key.hashCode()) & mask;
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                values[index] = value;
                 return;
             }
-            current = current.next;
+            index = (index + 1) & mask;
         }
 
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        newEntry.next = table[index];
-        table[index] = newEntry;
+        keys[index] = key;
+        values[index] = value;
         size++;
 
-        if (size > table.length * LOAD_FACTOR) {
+        if (size > threshold) {
             resize();
         }
     }
 
+    @SuppressWarnings("unchecked")
     public V get(K key) {
-        if (key == null) return null;
-
-        int index = hash(key) % table.length;
-        Entry<K, V> current = table[index];
-
-        while (current != null) {
-            if (current.key.equals(key)) {
-                return current.value;
-            }
-            current = current.next;
-        }
-        return null;
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
     }
 
     public boolean containsKey(K key) {
-        return get(key) != null;
+        return find(key) >= 0;
     }
 
+    @SuppressWarnings("unchecked")
     public V remove(K key) {
-        if (key == null) return null;
-
-        int index = hash(key) % table.length;
-        Entry<K, V> current = table[index];
-        Entry<K, V> prev = null;
-
-        while (current != null) {
-            if (current.key.equals(key)) {
-                if (prev == null) {
-                    table[index] = current.next;
-                } else {
-                    prev.next = current.next;
-                }
-                size--;
-                return current.value;
-            }
-            prev = current;
-            current = current.next;
+        int index = find(key);
+        if (index < 0) {
+            return null;
         }
-        return null;
+        V removed = (V) values[index];
+        deleteAt(index);
+        size--;
+        return removed;
     }
 
     public int size() {
@@ -98,34 +69,103 @@ public class HashMap<K, V> {
         return size == 0;
     }
 
+    public void clear() {
+        java.util.Arrays.fill(keys, null);
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
     public Array<K> keys() {
-        Array<K> keys = new Array<>();
-        for (Entry<K, V> entry : table) {
-            Entry<K, V> current = entry;
-            while (current != null) {
-                keys.add(current.key);
-                current = current.next;
+        Array<K> result = new Array<>(Math.max(1, size));
+        for (Object key : keys) {
+            if (key != null) {
+                result.add((K) key);
+            }
+        }
+        return result;
+    }
+
+    // Представление ключей только для чтения, без копирования; карту нельзя менять во время обхода
+    public Iterable<K> keyView() {
+        return () -> new java.util.Iterator<K>() {
+            private int next = skipEmpty(0);
+
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                K key = (K) keys[next];
+                next = skipEmpty(next + 1);
+                return key;
             }
+        };
+    }
+
+    private int skipEmpty(int index) {
+        while (index < keys.length && keys[index] == null) {
+            index++;
         }
-        return keys;
+        return index;
     }
 
-    private int hash(K key) {
-        return Math.abs(key.hashCode());
+    private int find(K key) {
+        if (key == null) return -1;
+
+        int index = Hashing.spread(key.hashCode()) & mask;
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
     }
 
-    @SuppressWarnings("unchecked")
-    private void resize() {
-        Entry<K, V>[] oldTable = table;
-        table = new Entry[oldTable.length * 2];
-        size = 0;
+    private void deleteAt(int gap) {
+        int index = (gap + 1) & mask;
+        while (keys[index] != null) {
+            int home = Hashing.spread(keys[index].hashCode()) & mask;
+            if (Hashing.canShift(home, gap, index, mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = null;
+        values[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.thresholdFor(capacity);
+    }
 
-        for (Entry<K, V> entry : oldTable) {
-            Entry<K, V> current = entry;
-            while (current != null) {
-                put(current.key, current.value);
-                current = current.next;
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        // Ключи уникальны, поэтому при переносе сравнивать их не нужно
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = Hashing.spread(oldKeys[i].hashCode()) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
             }
         }
     }
-}
\ No newline at end of file
+}
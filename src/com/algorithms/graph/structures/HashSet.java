@@ -12,7 +12,7 @@ public class HashSet<T> {
     }
 
     public boolean contains(T element) {
-        return map.get(element) != null;
+        return map.containsKey(element);
     }
 
     public boolean remove(T element) {
@@ -28,10 +28,7 @@ public class HashSet<T> {
     }
 
     public void clear() {
-        Array<T> keys = map.keys();
-        for (int i = 0; i < keys.size(); i++) {
-            map.remove(keys.get(i));
-        }
+        map.clear();
     }
 
     public Array<T> toArray() {
@@ -0,0 +1,41 @@
+package com.algorithms.graph.structures;
+
+// Общие функции для хеш-таблиц с открытой адресацией
+final class Hashing {
+    static final int MIN_CAPACITY = 16;
+    static final float LOAD_FACTOR = 0.6f;
+
+    private Hashing() {
+    }
+
+    // Перемешивает биты, чтобы младшие биты индекса зависели от всего хеша
+    static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Наименьшая степень двойки, при которой expectedSize элементов не превышают LOAD_FACTOR
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            if (capacity >= 1 << 30) {
+                return 1 << 30;
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int thresholdFor(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Может ли элемент с домашней ячейкой home, лежащий в slot, сдвинуться в gap
+    static boolean canShift(int home, int gap, int slot, int mask) {
+        return ((slot - home) & mask) >= ((slot - gap) & mask);
+    }
+}
@@ -0,0 +1,141 @@
+package com.algorithms.graph.structures;
+
+// 4-арная куча над целыми id из [0, capacity) с операцией уменьшения ключа
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        java.util.Arrays.fill(position, -1);
+        size = 0;
+    }
+
+    public void insert(int id, long key) {
+        if (position[id] >= 0) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, long key) {
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key is greater than current key");
+        }
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    // Вставляет id или уменьшает его ключ; возвращает false, если ключ не уменьшился
+    public boolean insertOrDecrease(int id, long key) {
+        if (position[id] < 0) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int pollMin() {
+        if (size == 0) {
+            throw new RuntimeException("Heap is empty");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public int peekMin() {
+        if (size == 0) {
+            throw new RuntimeException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[index] = parentId;
+            position[parentId] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        while (true) {
+            int first = index * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size);
+            int best = first;
+            for (int child = first + 1; child < last; child++) {
+                if (keys[heap[child]] < keys[heap[best]]) {
+                    best = child;
+                }
+            }
+            if (keys[heap[best]] >= key) {
+                break;
+            }
+            heap[index] = heap[best];
+            position[heap[index]] = index;
+            index = best;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+}
@@ -0,0 +1,124 @@
+package com.algorithms.graph.structures;
+
+// Отображение int -> int без упаковки; устроено так же, как HashMap
+public class IntIntMap {
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public IntIntMap() {
+        this(0);
+    }
+
+    public IntIntMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+        size = 0;
+    }
+
+    public void put(int key, int value) {
+        int index = Hashing.spread(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if (size > threshold) {
+            resize();
+        }
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        int index = find(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    public boolean remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return false;
+        }
+        deleteAt(index);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(int key) {
+        int index = Hashing.spread(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void deleteAt(int gap) {
+        int index = (gap + 1) & mask;
+        while (used[index]) {
+            int home = Hashing.spread(keys[index]) & mask;
+            if (Hashing.canShift(home, gap, index, mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        used[gap] = false;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.thresholdFor(capacity);
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = Hashing.spread(oldKeys[i]) & mask;
+                while (used[index]) {
+                    index = (index + 1) & mask;
+                }
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
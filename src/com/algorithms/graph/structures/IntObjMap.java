@@ -0,0 +1,140 @@
+package com.algorithms.graph.structures;
+
+// Отображение int -> V без упаковки ключей; устроено так же, как HashMap
+public class IntObjMap<V> {
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public IntObjMap() {
+        this(0);
+    }
+
+    public IntObjMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+        size = 0;
+    }
+
+    public void put(int key, V value) {
+        int index = Hashing.spread(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if (size > threshold) {
+            resize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        V removed = (V) values[index];
+        deleteAt(index);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(used, false);
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public int[] keys() {
+        int[] result = new int[size];
+        int k = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[k++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private int find(int key) {
+        int index = Hashing.spread(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void deleteAt(int gap) {
+        int index = (gap + 1) & mask;
+        while (used[index]) {
+            int home = Hashing.spread(keys[index]) & mask;
+            if (Hashing.canShift(home, gap, index, mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        used[gap] = false;
+        values[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.thresholdFor(capacity);
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = Hashing.spread(oldKeys[i]) & mask;
+                while (used[index]) {
+                    index = (index + 1) & mask;
+                }
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.algorithms.graph.structures;
+
+// Очередь int на кольцевом буфере; после clear() буфер переиспользуется
+public class IntQueue {
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] data;
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public IntQueue(int initialCapacity) {
+        // Ёмкость - степень двойки, чтобы индекс считался маской
+        int capacity = 1;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        data = new int[capacity];
+        head = 0;
+        size = 0;
+    }
+
+    public void enqueue(int element) {
+        if (size == data.length) {
+            grow();
+        }
+        data[(head + size) & (data.length - 1)] = element;
+        size++;
+    }
+
+    public int dequeue() {
+        if (size == 0) {
+            throw new RuntimeException("Queue is empty");
+        }
+        int element = data[head];
+        head = (head + 1) & (data.length - 1);
+        size--;
+        return element;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new RuntimeException("Queue is empty");
+        }
+        return data[head];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] newData = new int[data.length * 2];
+        for (int i = 0; i < size; i++) {
+            newData[i] = data[(head + i) & (data.length - 1)];
+        }
+        data = newData;
+        head = 0;
+    }
+}
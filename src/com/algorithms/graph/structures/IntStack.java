@@ -0,0 +1,52 @@
+package com.algorithms.graph.structures;
+
+// Стек int на массиве; после clear() массив переиспользуется
+public class IntStack {
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] data;
+    private int size;
+
+    public IntStack() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public IntStack(int initialCapacity) {
+        data = new int[Math.max(1, initialCapacity)];
+        size = 0;
+    }
+
+    public void push(int element) {
+        if (size == data.length) {
+            int[] newData = new int[data.length * 2];
+            System.arraycopy(data, 0, newData, 0, size);
+            data = newData;
+        }
+        data[size++] = element;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new RuntimeException("Stack is empty");
+        }
+        return data[--size];
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new RuntimeException("Stack is empty");
+        }
+        return data[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
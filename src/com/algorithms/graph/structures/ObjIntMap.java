@@ -0,0 +1,144 @@
+package com.algorithms.graph.structures;
+
+// Отображение K -> int без упаковки значений; устроено так же, как HashMap
+public class ObjIntMap<K> {
+    private Object[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public ObjIntMap() {
+        this(0);
+    }
+
+    public ObjIntMap(int expectedSize) {
+        allocate(Hashing.capacityFor(expectedSize));
+        size = 0;
+    }
+
+    public void put(K key, int value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = Hashing.spread(key.hashCode()) & mask;
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        if (size > threshold) {
+            resize();
+        }
+    }
+
+    public int getOrDefault(K key, int defaultValue) {
+        int index = find(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    public boolean remove(K key) {
+        int index = find(key);
+        if (index < 0) {
+            return false;
+        }
+        deleteAt(index);
+        size--;
+        return true;
+    }
+
+    // Заранее расширяет таблицу под expectedSize элементов
+    public void ensureCapacity(int expectedSize) {
+        int capacity = Hashing.capacityFor(expectedSize);
+        while (keys.length < capacity) {
+            resize();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Array<K> keys() {
+        Array<K> result = new Array<>(Math.max(1, size));
+        for (Object key : keys) {
+            if (key != null) {
+                result.add((K) key);
+            }
+        }
+        return result;
+    }
+
+    private int find(K key) {
+        if (key == null) return -1;
+
+        int index = Hashing.spread(key.hashCode()) & mask;
+        while (keys[index] != null) {
+            if (keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void deleteAt(int gap) {
+        int index = (gap + 1) & mask;
+        while (keys[index] != null) {
+            int home = Hashing.spread(keys[index].hashCode()) & mask;
+            if (Hashing.canShift(home, gap, index, mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.thresholdFor(capacity);
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = Hashing.spread(oldKeys[i].hashCode()) & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -1,25 +1,67 @@
 package com.algorithms.graph.structures;
 
+// Очередь на кольцевом буфере, растущем удвоением
 public class Queue<T> {
-    private final LinkedList<T> list;
+    private static final int INITIAL_CAPACITY = 16;
+    private Object[] data;
+    private int head;
+    private int size;
 
     public Queue() {
-        list = new LinkedList<>();
+        this(INITIAL_CAPACITY);
+    }
+
+    public Queue(int initialCapacity) {
+        data = new Object[Math.max(1, initialCapacity)];
+        head = 0;
+        size = 0;
     }
 
     public void enqueue(T element) {
-        list.add(element);
+        if (size == data.length) {
+            grow();
+        }
+        data[(head + size) % data.length] = element;
+        size++;
     }
 
     public T dequeue() {
-        return list.removeFirst();
+        if (size == 0) return null;
+        @SuppressWarnings("unchecked")
+        T element = (T) data[head];
+        data[head] = null;
+        head = (head + 1) % data.length;
+        size--;
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) data[head];
     }
 
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
 
     public int size() {
-        return list.size();
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            data[(head + i) % data.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        Object[] newData = new Object[data.length * 2];
+        for (int i = 0; i < size; i++) {
+            newData[i] = data[(head + i) % data.length];
+        }
+        data = newData;
+        head = 0;
     }
-}
\ No newline at end of file
+}
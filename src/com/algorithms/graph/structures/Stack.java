@@ -1,30 +1,52 @@
 package com.algorithms.graph.structures;
 
+// Стек на массиве, растущем удвоением
 public class Stack<T> {
-    private final LinkedList<T> list;
+    private static final int INITIAL_CAPACITY = 16;
+    private Object[] data;
+    private int size;
 
     public Stack() {
-        list = new LinkedList<>();
+        this(INITIAL_CAPACITY);
+    }
+
+    public Stack(int initialCapacity) {
+        data = new Object[Math.max(1, initialCapacity)];
+        size = 0;
     }
 
     public void push(T element) {
-        list.addFirst(element);
+        if (size == data.length) {
+            Object[] newData = new Object[data.length * 2];
+            System.arraycopy(data, 0, newData, 0, size);
+            data = newData;
+        }
+        data[size++] = element;
     }
 
     public T pop() {
-        return list.removeFirst();
+        if (size == 0) return null;
+        @SuppressWarnings("unchecked")
+        T element = (T) data[--size];
+        data[size] = null;
+        return element;
     }
 
+    @SuppressWarnings("unchecked")
     public T peek() {
-        Array<T> array = list.toArray();
-        return array.size() > 0 ? array.get(0) : null;
+        return size == 0 ? null : (T) data[size - 1];
     }
 
     public boolean isEmpty() {
-        return list.isEmpty();
+        return size == 0;
     }
 
     public int size() {
-        return list.size();
+        return size;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(data, 0, size, null);
+        size = 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.algorithms.graph.structures;
+
+// Система непересекающихся множеств над id из [0, size): объединение по рангу и сжатие путей
+public class UnionFind {
+    private final int[] parent;
+    private final byte[] rank;
+    private int count;
+
+    public UnionFind(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        count = size;
+    }
+
+    public int find(int x) {
+        // Сжатие делением пополам: каждая вершина на пути перевешивается на деда
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // Возвращает false, если x и y уже в одном множестве
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        count--;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    // Число множеств
+    public int count() {
+        return count;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+}